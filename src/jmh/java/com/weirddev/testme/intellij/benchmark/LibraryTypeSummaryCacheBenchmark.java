@@ -0,0 +1,74 @@
+package com.weirddev.testme.intellij.benchmark;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.weirddev.testme.intellij.cache.LibraryTypeSummaryCache;
+import com.weirddev.testme.intellij.common.utils.PsiMethodUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks LibraryTypeSummaryCache lookups of summaries of JDK classes, once summarized, compared with formatting and hashing the method signatures of
+ * each class on every lookup - the validation done by each lookup before summaries were validated once per session
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LibraryTypeSummaryCacheBenchmark {
+    private static final String[] LIBRARY_CLASSES = {"java.lang.String", "java.lang.Thread", "java.util.ArrayList", "java.util.HashMap", "java.util.concurrent.ConcurrentHashMap",
+            "java.time.LocalDateTime", "java.math.BigDecimal", "java.io.File", "java.net.URI", "javax.swing.JTable"};
+
+    @State(Scope.Thread)
+    public static class LibraryClasses {
+        final List<PsiClass> classes = new ArrayList<>();
+        final List<PsiMethod[]> classesMethods = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setUp(TestMeFixtureState fixtureState) {
+            ReadAction.run(() -> {
+                final GlobalSearchScope scope = GlobalSearchScope.allScope(fixtureState.module.getProject());
+                for (String qualifiedName : LIBRARY_CLASSES) {
+                    final PsiClass psiClass = JavaPsiFacade.getInstance(fixtureState.module.getProject()).findClass(qualifiedName, scope);
+                    if (psiClass != null) {
+                        classes.add(psiClass);
+                        classesMethods.add(psiClass.getAllMethods());
+                        LibraryTypeSummaryCache.getInstance().findSummary(psiClass, classesMethods.get(classesMethods.size() - 1));
+                    }
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void findSummary(LibraryClasses libraryClasses, Blackhole blackhole) {
+        ReadAction.run(() -> {
+            for (int i = 0; i < libraryClasses.classes.size(); i++) {
+                blackhole.consume(LibraryTypeSummaryCache.getInstance().findSummary(libraryClasses.classes.get(i), libraryClasses.classesMethods.get(i)));
+            }
+        });
+    }
+
+    @Benchmark
+    public void hashMethodSignatures(LibraryClasses libraryClasses, Blackhole blackhole) throws Exception {
+        final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        ReadAction.run(() -> {
+            for (PsiMethod[] classMethods : libraryClasses.classesMethods) {
+                final StringBuilder signature = new StringBuilder();
+                for (PsiMethod psiMethod : classMethods) {
+                    signature.append(PsiMethodUtils.formatMethodId(psiMethod)).append('\n');
+                }
+                blackhole.consume(messageDigest.digest(signature.toString().getBytes(StandardCharsets.UTF_8)));
+            }
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.weirddev.testme.intellij.benchmark;
+
+import com.weirddev.testme.intellij.builder.MethodReferencesBuilder;
+import com.weirddev.testme.intellij.template.context.Method;
+import com.weirddev.testme.intellij.template.context.MethodCall;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks MethodReferencesBuilder call graph enrichment over a synthetic test subject, compared with processing all methods on each pass.
+ * Methods call a few other methods of the test subject, as resolved by MethodFactory - referring to shallow methods of the same id
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class MethodReferencesBenchmark {
+    private static final String OWNER_CLASS = "com.example.services.impl.Foo";
+    private static final int CALLS_PER_METHOD = 3;
+
+    @Param({"50", "200", "800"})
+    public int methodsCount;
+
+    @Param({"4", "9"})
+    public int maxMethodCallsDepth;
+
+    private List<Method> methods;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        methods = createMethods(methodsCount);
+    }
+
+    @Benchmark
+    public List<Method> resolveMethodReferences() {
+        new MethodReferencesBuilder().resolveMethodReferences(maxMethodCallsDepth, methods);
+        return methods;
+    }
+
+    @Benchmark
+    public List<Method> resolveMethodReferencesOnAllMethodsPerPass() {
+        for (int i = 0; i < maxMethodCallsDepth; i++) {
+            for (Method method : methods) {
+                resolveMethodCallsByScan(methods, method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * MethodReferencesBuilder method calls enrichment before indexing. kept as a baseline
+     */
+    private static void resolveMethodCallsByScan(List<Method> methods, Method method) {
+        final Set<MethodCall> calledMethodsByMethodCalls = new HashSet<>();
+        for (MethodCall methodCall : method.getMethodCalls()) {
+            Method calledMethodFound = null;
+            for (Method aMethod : methods) {
+                if (aMethod.getMethodId().equals(methodCall.getMethod().getMethodId())) {
+                    calledMethodFound = aMethod;
+                    break;
+                }
+            }
+            if (calledMethodFound != null) {
+                final MethodCall methodCallFound = methodCall.getMethod() == calledMethodFound ? methodCall : new MethodCall(calledMethodFound, methodCall.getMethodCallArguments());
+                calledMethodsByMethodCalls.add(methodCallFound);
+                if (method.getOwnerClassCanonicalType().equals(methodCallFound.getMethod().getOwnerClassCanonicalType())) {
+                    calledMethodsByMethodCalls.addAll(calledMethodFound.getMethodCalls());
+                }
+            }
+        }
+        method.getMethodCalls().removeAll(calledMethodsByMethodCalls);
+        method.getMethodCalls().addAll(calledMethodsByMethodCalls);
+    }
+
+    private static List<Method> createMethods(int methodsCount) {
+        final Random random = new Random(methodsCount);
+        final List<Method> methods = new ArrayList<>();
+        for (int i = 0; i < methodsCount; i++) {
+            methods.add(createMethod(i));
+        }
+        for (Method method : methods) {
+            for (int i = 0; i < CALLS_PER_METHOD; i++) {
+                method.getMethodCalls().add(new MethodCall(createMethod(random.nextInt(methodsCount)), new ArrayList<>()));
+            }
+        }
+        return methods;
+    }
+
+    private static Method createMethod(int index) {
+        final String methodName = "method" + index;
+        return new Method(OWNER_CLASS + "." + methodName + "()", methodName, null, OWNER_CLASS, new ArrayList<>(), null, false, false, false, true, false, false,
+                false, false, false, false, false, false, false, false, null, true, false, true);
+    }
+}
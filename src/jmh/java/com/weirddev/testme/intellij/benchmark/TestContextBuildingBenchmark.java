@@ -0,0 +1,119 @@
+package com.weirddev.testme.intellij.benchmark;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.util.lang.JavaVersion;
+import com.weirddev.testme.intellij.builder.MethodReferencesBuilder;
+import com.weirddev.testme.intellij.template.TypeDictionary;
+import com.weirddev.testme.intellij.template.context.Field;
+import com.weirddev.testme.intellij.template.context.Method;
+import com.weirddev.testme.intellij.template.context.Param;
+import com.weirddev.testme.intellij.template.context.TestBuilder;
+import com.weirddev.testme.intellij.template.context.Type;
+import com.weirddev.testme.intellij.template.context.impl.JavaTestBuilderImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the test template context building stages, in the order executed by TestTemplateContextBuilder.
+ * Each stage is measured over a newly created type dictionary, so results are not served by the dictionary type cache.
+ * Resolved method calls are cached on PSI across invocations, as they are between test generations in IDE.
+ * Type members are resolved lazily, so the type graph is walked to resolve them, as rendering a test would
+ *
+ * @see com.weirddev.testme.intellij.generator.TestTemplateContextBuilder
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TestContextBuildingBenchmark {
+
+    @State(Scope.Thread)
+    public static class ResolvedTestSubject {
+        TypeDictionary typeDictionary;
+        Type type;
+
+        @Setup(Level.Invocation)
+        public void setUp(TestMeFixtureState fixtureState) {
+            ReadAction.run(() -> {
+                typeDictionary = newTypeDictionary(fixtureState);
+                type = typeDictionary.getType(Type.resolveType(fixtureState.srcClass), fixtureState.maxRecursionDepth, true);
+                resolveTypeGraph(type);
+            });
+        }
+    }
+
+    @Benchmark
+    public TypeDictionary createTypeDictionary(TestMeFixtureState fixtureState) {
+        return ReadAction.compute(() -> newTypeDictionary(fixtureState));
+    }
+
+    /**
+     * TypeDictionary.getType of the test subject, and the lazy Type.resolveDependencies of every type reachable from it
+     */
+    @Benchmark
+    public int resolveTestSubjectType(TestMeFixtureState fixtureState) {
+        return ReadAction.compute(() -> resolveTypeGraph(newTypeDictionary(fixtureState).getType(Type.resolveType(fixtureState.srcClass), fixtureState.maxRecursionDepth, true)));
+    }
+
+    @Benchmark
+    public void resolveMethodReferences(TestMeFixtureState fixtureState, ResolvedTestSubject testSubject, Blackhole blackhole) {
+        ReadAction.run(() -> new MethodReferencesBuilder().resolveMethodReferences(fixtureState.maxRecursionDepth, testSubject.type.getMethods()));
+        blackhole.consume(testSubject.type);
+    }
+
+    @Benchmark
+    public void renderJavaCallParams(TestMeFixtureState fixtureState, ResolvedTestSubject testSubject, Blackhole blackhole) {
+        ReadAction.run(() -> {
+            for (Method method : testSubject.type.getMethods()) {
+                final JavaTestBuilderImpl testBuilder = new JavaTestBuilderImpl(method, TestBuilder.ParamRole.Input, fixtureState.fileTemplateConfig, fixtureState.module,
+                        testSubject.typeDictionary, JavaVersion.current(), new HashMap<>(), new HashMap<>());
+                blackhole.consume(testBuilder.renderJavaCallParams(method.getMethodParams()));
+            }
+        });
+    }
+
+    /**
+     * resolves the members of every type reachable from the given type
+     *
+     * @return number of resolved types
+     */
+    static int resolveTypeGraph(Type root) {
+        final Set<Type> resolvedTypes = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Type> pendingTypes = new ArrayDeque<>();
+        offer(root, pendingTypes);
+        while (!pendingTypes.isEmpty()) {
+            final Type type = pendingTypes.poll();
+            if (!resolvedTypes.add(type)) {
+                continue;
+            }
+            type.isDependenciesResolved();
+            for (Method method : type.getMethods()) {
+                offer(method.getReturnType(), pendingTypes);
+                for (Param param : method.getMethodParams()) {
+                    offer(param.getType(), pendingTypes);
+                }
+            }
+            for (Field field : type.getFields()) {
+                offer(field.getType(), pendingTypes);
+            }
+            type.getImplementedInterfaces().forEach(implementedInterface -> offer(implementedInterface, pendingTypes));
+            if (type.getComposedTypes() != null) {
+                type.getComposedTypes().forEach(composedType -> offer(composedType, pendingTypes));
+            }
+        }
+        return resolvedTypes.size();
+    }
+
+    private static void offer(Type type, Deque<Type> pendingTypes) {
+        if (type != null) {
+            pendingTypes.add(type);
+        }
+    }
+
+    private static TypeDictionary newTypeDictionary(TestMeFixtureState fixtureState) {
+        return TypeDictionary.create(fixtureState.srcClass, fixtureState.srcPackage, fixtureState.fileTemplateConfig.isThrowSpecificExceptionTypes());
+    }
+}
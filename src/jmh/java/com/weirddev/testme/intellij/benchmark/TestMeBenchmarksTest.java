@@ -0,0 +1,36 @@
+package com.weirddev.testme.intellij.benchmark;
+
+import junit.framework.TestCase;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the JMH benchmarks from within the IDEA test environment set up by gradle for test tasks.
+ * Benchmarks run in this JVM (no forks), since the IDEA test application can not be bootstrapped in a forked JVM.
+ * Run with: gradlew jmh [-DtestMe.jmh.include=regexp]
+ */
+public class TestMeBenchmarksTest extends TestCase {
+
+    public void testRunBenchmarks() throws Exception {
+        final File resultsFile = new File(System.getProperty("testMe.jmh.results", "build/reports/jmh/results.json"));
+        resultsFile.getParentFile().mkdirs();
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("testMe.jmh.include", TestMeBenchmarksTest.class.getPackage().getName()))
+                .forks(0)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultsFile.getAbsolutePath());
+        final String testSubjects = System.getProperty("testMe.jmh.testSubjects");
+        if (testSubjects != null) {
+            options.param("testSubject", testSubjects.split(","));
+        }
+        final String maxRecursionDepths = System.getProperty("testMe.jmh.maxRecursionDepths");
+        if (maxRecursionDepths != null) {
+            options.param("maxRecursionDepth", maxRecursionDepths.split(","));
+        }
+        assertFalse(new Runner(options.build()).run().isEmpty());
+    }
+}
@@ -0,0 +1,77 @@
+package com.weirddev.testme.intellij.benchmark;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.projectRoots.JavaSdk;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.psi.JavaDirectoryService;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiPackage;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.*;
+import com.intellij.testFramework.fixtures.impl.LightTempDirTestFixtureImpl;
+import com.weirddev.testme.intellij.configuration.TestMeConfig;
+import com.weirddev.testme.intellij.template.FileTemplateConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Light IDEA project fixture loaded with one of the test subjects under testData/testMeGenerator.
+ * Test subjects are listed from small to large
+ */
+@State(Scope.Benchmark)
+public class TestMeFixtureState {
+    private static final String TEST_DATA_ROOT = "testData/testMeGenerator/";
+    private static final String TEST_SUBJECT_CLASS = "com.example.services.impl.Foo";
+
+    @Param({"simpleClass", "renderInternalMethodCallStubs", "generics", "variousFieldTypes"})
+    public String testSubject;
+
+    @Param({"1", "4", "9"})
+    public int maxRecursionDepth;
+
+    private JavaCodeInsightTestFixture fixture;
+    PsiClass srcClass;
+    PsiPackage srcPackage;
+    Module module;
+    FileTemplateConfig fileTemplateConfig;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final TestFixtureBuilder<IdeaProjectTestFixture> fixtureBuilder = IdeaTestFixtureFactory.getFixtureFactory().createLightFixtureBuilder(createProjectDescriptor(), "TestMeBenchmark");
+        fixture = JavaTestFixtureFactory.getFixtureFactory().createCodeInsightFixture(fixtureBuilder.getFixture(), new LightTempDirTestFixtureImpl(true));
+        fixture.setTestDataPath(new File(TEST_DATA_ROOT + testSubject).getAbsolutePath());
+        EdtTestUtil.runInEdtAndWait(() -> {
+            fixture.setUp();
+            fixture.copyDirectoryToProject("src", "");
+            fixture.copyDirectoryToProject("../../commonSrc", "");
+            srcClass = fixture.findClass(TEST_SUBJECT_CLASS);
+            srcPackage = JavaDirectoryService.getInstance().getPackage(srcClass.getContainingFile().getContainingDirectory());
+            module = fixture.getModule();
+        });
+        final TestMeConfig testMeConfig = new TestMeConfig();
+        testMeConfig.setGenerateTestsForInheritedMethods(true);
+        fileTemplateConfig = new FileTemplateConfig(testMeConfig);
+        fileTemplateConfig.setMaxRecursionDepth(maxRecursionDepth);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        EdtTestUtil.runInEdtAndWait(() -> fixture.tearDown());
+    }
+
+    private static LightProjectDescriptor createProjectDescriptor() {
+        return new DefaultLightProjectDescriptor() {
+            @Override
+            public Sdk getSdk() {
+                try {
+                    return JavaSdk.getInstance().createJdk("java 1.11", new File(System.getProperty("java.home")).getCanonicalPath(), false);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+}
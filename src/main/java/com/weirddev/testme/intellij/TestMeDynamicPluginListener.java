@@ -0,0 +1,28 @@
+package com.weirddev.testme.intellij;
+
+import com.intellij.ide.plugins.DynamicPluginListener;
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.weirddev.testme.intellij.common.reflection.MethodHandleCache;
+import com.weirddev.testme.intellij.common.utils.LanguageUtils;
+import com.weirddev.testme.intellij.generator.TestTemplateCompilationCache;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Refreshes supported languages and reflective access to optional language plugins, and drops compiled test templates, once plugins have been loaded or unloaded without restart
+ */
+public class TestMeDynamicPluginListener implements DynamicPluginListener {
+
+    @Override
+    public void pluginLoaded(@NotNull IdeaPluginDescriptor pluginDescriptor) {
+        LanguageUtils.refreshSupportedLanguages();
+        MethodHandleCache.clear();
+        TestTemplateCompilationCache.clear();
+    }
+
+    @Override
+    public void pluginUnloaded(@NotNull IdeaPluginDescriptor pluginDescriptor, boolean isUpdate) {
+        LanguageUtils.refreshSupportedLanguages();
+        MethodHandleCache.clear();
+        TestTemplateCompilationCache.clear();
+    }
+}
@@ -2,7 +2,6 @@ package com.weirddev.testme.intellij.action;
 
 import com.intellij.ide.fileTemplates.FileTemplateDescriptor;
 import com.intellij.ide.util.PropertiesComponent;
-import com.intellij.openapi.command.CommandProcessor;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.module.Module;
@@ -128,12 +127,7 @@ public class CreateTestMeAction extends CreateTestAction {
             return;
         }
 
-        CommandProcessor.getInstance().executeCommand(project, new Runnable() {
-            @Override
-            public void run() {
-                testMeGenerator.generateTest(fileTemplateContext);
-            }
-        }, "TestMe Generate Test", this);
+        testMeGenerator.generateTestInBackground(fileTemplateContext);
         LOG.debug("End CreateTestMeAction.invoke");
     }
 
@@ -235,7 +229,7 @@ public class CreateTestMeAction extends CreateTestAction {
      * @return
      */
     @NotNull
-    private static Module suggestModuleForTestsReflective(@NotNull Project project, @NotNull Module productionModule) {
+    public static Module suggestModuleForTestsReflective(@NotNull Project project, @NotNull Module productionModule) {
         try {
             Method suggestModuleForTests = null;
             //          suggestModuleForTests = CreateTestAction.class.getDeclaredMethod("suggestModuleForTests", Project.class,Module.class);
@@ -0,0 +1,92 @@
+package com.weirddev.testme.intellij.action;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.weirddev.testme.intellij.generator.BulkTestMeGenerator;
+import com.weirddev.testme.intellij.template.TemplateDescriptor;
+import com.weirddev.testme.intellij.ui.template.TestMeTemplateManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.jps.model.java.JavaSourceRootType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Generate tests for all classes in packages, directories or modules selected in the project view
+ *
+ * @see BulkTestMeGenerator
+ */
+public class GenerateTestsInBulkAction extends AnAction {
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && !resolveRoots(e).isEmpty());
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        final Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        if (DumbService.isDumb(project)) {
+            DumbService.getInstance(project).showDumbModeNotification("Test Generation is not available while indexing");
+            return;
+        }
+        final List<PsiElement> roots = resolveRoots(e);
+        final List<TemplateDescriptor> templateDescriptors = TestMeTemplateManager.getInstance(project).getTestTemplates().stream().filter(TemplateDescriptor::isEnabled).collect(Collectors.toList());
+        if (roots.isEmpty() || templateDescriptors.isEmpty()) {
+            return;
+        }
+        JBPopupFactory.getInstance().createPopupChooserBuilder(templateDescriptors)
+            .setTitle("Generate Tests with TestMe")
+            .setRenderer(SimpleListCellRenderer.create("", TemplateDescriptor::getDisplayName))
+            .setItemChosenCallback(templateDescriptor -> new BulkTestMeGenerator().generateInBackground(project, templateDescriptor, roots))
+            .createPopup()
+            .showInBestPositionFor(e.getDataContext());
+    }
+
+    @NotNull
+    private static List<PsiElement> resolveRoots(@NotNull AnActionEvent e) {
+        final List<PsiElement> roots = new ArrayList<>();
+        final Project project = e.getProject();
+        final Module[] modules = e.getData(LangDataKeys.MODULE_CONTEXT_ARRAY);
+        if (project != null && modules != null) {
+            for (Module module : modules) {
+                for (VirtualFile sourceRoot : ModuleRootManager.getInstance(module).getSourceRoots(JavaSourceRootType.SOURCE)) {
+                    final PsiDirectory directory = PsiManager.getInstance(project).findDirectory(sourceRoot);
+                    if (directory != null) {
+                        roots.add(directory);
+                    }
+                }
+            }
+        }
+        if (roots.isEmpty()) {
+            final PsiElement[] psiElements = e.getData(LangDataKeys.PSI_ELEMENT_ARRAY);
+            if (psiElements != null) {
+                for (PsiElement psiElement : psiElements) {
+                    if (psiElement instanceof PsiDirectory || psiElement instanceof PsiPackage) {
+                        roots.add(psiElement);
+                    }
+                }
+            }
+        }
+        return roots;
+    }
+}
@@ -1,14 +1,14 @@
 package com.weirddev.testme.intellij.builder;
 
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
 import com.intellij.openapi.util.Pair;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.source.PsiClassReferenceType;
-import com.intellij.psi.search.LocalSearchScope;
-import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.MethodSignatureUtil;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.weirddev.testme.intellij.common.utils.LanguageUtils;
 import com.weirddev.testme.intellij.common.utils.PsiMethodUtils;
 import com.weirddev.testme.intellij.groovy.resolvers.GroovyPsiTreeUtils;
@@ -31,6 +31,7 @@ import java.util.stream.Stream;
 
 public class MethodFactory {
     private static final Logger LOG = Logger.getInstance(MethodFactory.class.getName());
+    private static final int SHALLOW_METHOD_DEPTH = 1;
 
     public static Method createMethod(PsiMethod psiMethod, PsiClass srcClass, int maxRecursionDepth, TypeDictionary typeDictionary, @Nullable PsiType ownerClassPsiType) {
         boolean isPrivate = psiMethod.hasModifierProperty(PsiModifier.PRIVATE);
@@ -58,6 +59,7 @@ public class MethodFactory {
         Type returnType = resolveReturnType(psiMethod, maxRecursionDepth, typeDictionary, methodSubstitutor);
         List<Param> methodParams = extractMethodParams(psiMethod, isPrimaryConstructor, maxRecursionDepth, typeDictionary, methodSubstitutor);
         String throwsExceptions = extractMethodExceptionTypes(psiMethod,typeDictionary.isThrowSpecificExceptionTypes(),testable);
+        typeDictionary.recordMethodCreated();
         return new Method(methodId, methodName, returnType,   ownerClassCanonicalType, methodParams, throwsExceptions,isPrivate, isProtected, isDefault, isPublic, isAbstract, isNative,
                 isStatic, isSetter, isGetter, isConstructor,  overriddenInChild, inherited, isInterface, syntheticMethod, propertyName1, accessible,
                 isPrimaryConstructor,   testable);
@@ -70,7 +72,21 @@ public class MethodFactory {
         method.getMethodReferences().addAll(MethodFactory.resolveMethodReferences(psiMethod,typeDictionary));
     }
 
+    /**
+     * resolved method calls from the body of given method. cached on the method until its file or any declaration in project has changed
+     */
     public static List<ResolvedMethodCall> resolvedMethodCalls(PsiMethod psiMethod) {
+        if (!psiMethod.isPhysical() || psiMethod.getContainingFile() == null) {
+            return computeResolvedMethodCalls(psiMethod);
+        }
+        return CachedValuesManager.getCachedValue(psiMethod, () -> {
+            final PsiModificationTracker psiModificationTracker = PsiModificationTracker.getInstance(psiMethod.getProject());
+            return CachedValueProvider.Result.create(Collections.unmodifiableList(computeResolvedMethodCalls(psiMethod)), psiMethod.getContainingFile(),
+                    psiModificationTracker.forLanguages(language -> true), ProjectRootModificationTracker.getInstance(psiMethod.getProject()));
+        });
+    }
+
+    private static List<ResolvedMethodCall> computeResolvedMethodCalls(PsiMethod psiMethod) {
         if (LanguageUtils.isGroovy(psiMethod.getLanguage())) {
             return GroovyPsiTreeUtils.findMethodCalls(psiMethod).stream().toList();
         }
@@ -103,7 +119,7 @@ public class MethodFactory {
         final Set<Method> methodReferences = new HashSet<>();
         for (PsiMethod resolvedMethodReference : JavaPsiTreeUtils.findMethodReferences(psiMethod)) {
             if (typeDictionary.isRelevant(resolvedMethodReference, null)) {
-                methodReferences.add(MethodFactory.createMethod(resolvedMethodReference, resolvedMethodReference.getContainingClass(), 1, typeDictionary, null));
+                methodReferences.add(createShallowMethod(resolvedMethodReference, resolvedMethodReference.getContainingClass(), typeDictionary));
             }
         }
         return methodReferences;
@@ -115,11 +131,19 @@ public class MethodFactory {
         List<ResolvedMethodCall> methodCalls = resolvedMethodCalls(psiMethod);
         for (ResolvedMethodCall resolvedMethodCall : methodCalls) {
             if (typeDictionary.isRelevant(resolvedMethodCall.getPsiMethod(), null)) {
-                directMethodCalls.add(new MethodCall(MethodFactory.createMethod(resolvedMethodCall.getPsiMethod(), null, 1, typeDictionary, null),convertArgs(resolvedMethodCall.getMethodCallArguments())));
+                directMethodCalls.add(new MethodCall(createShallowMethod(resolvedMethodCall.getPsiMethod(), null, typeDictionary),convertArgs(resolvedMethodCall.getMethodCallArguments())));
             }
         }
         return directMethodCalls;
     }
+    /**
+     * called and referenced methods are resolved in a shallow manner, and never enriched afterward. so a method is created once per dictionary and shared by all call sites
+     */
+    private static Method createShallowMethod(PsiMethod psiMethod, @Nullable PsiClass srcClass, TypeDictionary typeDictionary) {
+        final String key = PsiMethodUtils.formatMethodId(psiMethod) + "|" + SHALLOW_METHOD_DEPTH + "|" + (srcClass == null ? "" : srcClass.getQualifiedName());
+        return typeDictionary.internMethod(key, () -> createMethod(psiMethod, srcClass, SHALLOW_METHOD_DEPTH, typeDictionary, null));
+    }
+
     @Nullable
     private static Type resolveReturnType(PsiMethod psiMethod, int maxRecursionDepth, TypeDictionary typeDictionary, Optional<PsiSubstitutor> methodSubstitutor) {
         final PsiType psiType = psiMethod.getReturnType();
@@ -145,16 +169,6 @@ public class MethodFactory {
         return methodCallArgs;
     }
 
-    private static PsiField resolveLeftHandExpressionAsField(PsiExpression expr) {
-        PsiElement parent = PsiTreeUtil.skipParentsOfType(expr, PsiParenthesizedExpression.class);
-        if (!(parent instanceof PsiAssignmentExpression psiAssignmentExpression)) {
-            return null;
-        }
-        final PsiReference reference = psiAssignmentExpression.getLExpression().getReference();
-        final PsiElement element = reference != null ? reference.resolve() : null;
-        return element instanceof PsiField ? (PsiField) element : null;
-    }
-
     private static List<Param> extractMethodParams(PsiMethod psiMethod, boolean shouldResolveAllMethods, int maxRecursionDepth, TypeDictionary typeDictionary, Optional<PsiSubstitutor> methodSubstitutor) {
         ArrayList<Param> params = new ArrayList<>();
         final PsiParameter[] parameters;
@@ -196,17 +210,8 @@ public class MethodFactory {
         final ArrayList<Field> fields = new ArrayList<>();
         try {
             if (!psiMethod.hasModifierProperty(PsiModifier.STATIC)) {
-                LocalSearchScope searchScope = LanguageUtils.isScala(psiMethod.getLanguage()) && psiMethod.getContainingClass()!=null ? new LocalSearchScope(psiMethod.getContainingClass()) : new LocalSearchScope(psiMethod);
-                for (PsiReference reference : ReferencesSearch.search(psiParameter, searchScope)) {
-                    final PsiElement element = reference.getElement();
-                    PsiField psiField = null;
-                    if (LanguageUtils.isGroovy(element.getLanguage())) {
-                        psiField = GroovyPsiTreeUtils.resolveGrLeftHandExpressionAsField(element);
-                    }
-                    else if (element instanceof PsiExpression && !PsiUtil.isOnAssignmentLeftHand((PsiExpression) element)) {
-                        psiField = resolveLeftHandExpressionAsField((PsiExpression) element);
-                    }
-                    if (psiField != null && psiField.getContainingClass() != null) {
+                for (PsiField psiField : fieldsAssignedFromParams(psiMethod).getOrDefault(psiParameter, Collections.emptyList())) {
+                    if (psiField.getContainingClass() != null) {
                         fields.add(new Field(psiField, psiField.getContainingClass(),null, 0));
                     }
                 }
@@ -217,6 +222,32 @@ public class MethodFactory {
         return fields;
     }
 
+    /**
+     * fields assigned with each parameter are collected in a single pass over the method body, and reused by all parameters of the method until PSI changes
+     */
+    private static Map<PsiParameter, List<PsiField>> fieldsAssignedFromParams(PsiMethod psiMethod) {
+        if (!psiMethod.isPhysical() || psiMethod.getContainingFile() == null) {
+            return computeFieldsAssignedFromParams(psiMethod);
+        }
+        return CachedValuesManager.getCachedValue(psiMethod, () -> {
+            final PsiModificationTracker psiModificationTracker = PsiModificationTracker.getInstance(psiMethod.getProject());
+            return CachedValueProvider.Result.create(Collections.unmodifiableMap(computeFieldsAssignedFromParams(psiMethod)), psiMethod.getContainingFile(),
+                    psiModificationTracker.forLanguages(language -> true), ProjectRootModificationTracker.getInstance(psiMethod.getProject()));
+        });
+    }
+
+    private static Map<PsiParameter, List<PsiField>> computeFieldsAssignedFromParams(PsiMethod psiMethod) {
+        if (LanguageUtils.isGroovy(psiMethod.getLanguage())) {
+            return GroovyPsiTreeUtils.findFieldsAssignedFromParams(psiMethod);
+        }
+        else if (LanguageUtils.isScala(psiMethod.getLanguage())) {
+            return Collections.emptyMap(); // scala parameter references are not java expressions, so no assignment of a parameter to a field is detected
+        }
+        else {
+            return JavaPsiTreeUtils.findFieldsAssignedFromParams(psiMethod);
+        }
+    }
+
     private static boolean isInterface(PsiMethod psiMethod) {
 //            //method inherited from an interface but implemented by this interface should not be considered as interface method
 //            return psiMethod.hasModifierProperty("abstract") || psiMethod.getContainingClass() != null && psiMethod.getContainingClass().isInterface();
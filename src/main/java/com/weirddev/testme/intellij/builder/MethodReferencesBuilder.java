@@ -1,11 +1,10 @@
 package com.weirddev.testme.intellij.builder;
 
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
 import com.weirddev.testme.intellij.template.context.*;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Enrich com.weirddev.testme.intellij.template.context.Method#methodCalls with potentially relevant method calls
@@ -13,11 +12,32 @@ import java.util.Set;
  */
 public class MethodReferencesBuilder {
     private static final Logger logger = Logger.getInstance(MethodReferencesBuilder.class.getName());
+    /**
+     * Enriches method calls of the given methods until reaching a fixed point or after maxMethodCallsDepth passes over the methods, whichever comes first.
+     * A pass only re-processes methods whose own method calls, or method calls of methods they include calls of, changed since they were last processed.
+     * Processing other methods would not change them, so results are the same as processing all methods on each pass.
+     */
     public void resolveMethodReferences(int maxMethodCallsDepth, List<Method> methods) {
 //              todo test generic methods and type params. use actual type params passed
-        for (int i = 0; i < maxMethodCallsDepth; i++) {
-            for (Method method : methods) {
-                resolveMethodCalls(methods, method);
+        final Map<String, Method> methodsById = indexMethods(methods);
+        final Set<Method> resolvedMethods = Collections.newSetFromMap(new IdentityHashMap<>());
+        resolvedMethods.addAll(methods);
+        final Map<Method, BitSet> dependentMethods = new IdentityHashMap<>();
+        final BitSet pending = new BitSet(methods.size());
+        pending.set(0, methods.size());
+        for (int i = 0; i < maxMethodCallsDepth && !pending.isEmpty(); i++) {
+            ProgressManager.checkCanceled();
+            // methods marked pending ahead of the current position are processed on this pass, as if all methods were processed in order
+            for (int position = pending.nextSetBit(0); position >= 0; position = pending.nextSetBit(position + 1)) {
+                pending.clear(position);
+                final Method method = methods.get(position);
+                if (resolveMethodCalls(methodsById, method, resolvedMethods, dependentMethods, position)) {
+                    pending.set(position);
+                    final BitSet dependents = dependentMethods.get(method);
+                    if (dependents != null) {
+                        pending.or(dependents);
+                    }
+                }
             }
         }
         for (Method method : methods) {
@@ -56,11 +76,16 @@ public class MethodReferencesBuilder {
         return type != null && !type.isPrimitive() && !type.isArray() && !type.isInterface() && !type.isAbstract() && !type.isVarargs();
     }
 
-    private void resolveMethodCalls(List<Method> methods, Method method) {
+    /**
+     * @return true - if method calls of the method changed
+     */
+    private boolean resolveMethodCalls(Map<String, Method> methodsById, Method method, Set<Method> resolvedMethods, Map<Method, BitSet> dependentMethods, int position) {
         final Set<MethodCall> calledMethodsByMethodCalls = new HashSet<MethodCall>();
+        final Map<MethodCall, MethodCall> previousMethodCalls = new HashMap<>();
 //        final Set<MethodCall> methodsInMyFamilyTree= new HashSet<MethodCall>();
         for (MethodCall methodCall : method.getMethodCalls()) {
-            final Method calledMethodFound = find(methods, methodCall.getMethod().getMethodId());//find originally resolved method since methods in resolved method call are resolved in a shallow manner
+            previousMethodCalls.put(methodCall, methodCall);
+            final Method calledMethodFound = methodsById.get(methodCall.getMethod().getMethodId());//find originally resolved method since methods in resolved method call are resolved in a shallow manner
             if (calledMethodFound != null) {
                 MethodCall methodCallFound;
                 if (methodCall.getMethod() == calledMethodFound) {
@@ -72,29 +97,40 @@ public class MethodReferencesBuilder {
                 calledMethodsByMethodCalls.add(methodCallFound);
                 if (method.getOwnerClassCanonicalType()!=null && method.getOwnerClassCanonicalType().equals(methodCallFound.getMethod().getOwnerClassCanonicalType())) {
                     calledMethodsByMethodCalls.addAll(calledMethodFound.getMethodCalls());
+                    if (resolvedMethods.contains(calledMethodFound)) {
+                        dependentMethods.computeIfAbsent(calledMethodFound, m -> new BitSet()).set(position);
+                    }
                 }
             }
         }
+        boolean changed = false;
+        for (MethodCall methodCall : calledMethodsByMethodCalls) {
+            final MethodCall previousMethodCall = previousMethodCalls.get(methodCall);
+            if (previousMethodCall == null || previousMethodCall.getMethod() != methodCall.getMethod() || previousMethodCall.getMethodCallArguments() != methodCall.getMethodCallArguments()) {
+                changed = true;
+                break;
+            }
+        }
         method.getMethodCalls().removeAll(calledMethodsByMethodCalls);
         method.getMethodCalls().addAll(calledMethodsByMethodCalls);
 //        method.getCalledFamilyMembers().addAll(methodsInMyFamilyTree);
+        return changed;
     }
 
-    private Method find(List<Method> methods, String methodId) {
+    /**
+     * @return methods and methods of their return types by method id. the first one found by id, in order of the given methods
+     */
+    private static Map<String, Method> indexMethods(List<Method> methods) {
+        final Map<String, Method> methodsById = new HashMap<>();
         for (Method method : methods) {
-            if (method.getMethodId().equals(methodId)) {
-                return method;
-            }
+            methodsById.putIfAbsent(method.getMethodId(), method);
             if (method.getReturnType() != null) {
                 for (Method returnTypeMethod : method.getReturnType().getMethods()) {
-                    if (returnTypeMethod.getMethodId().equals(methodId)) {
-                        return returnTypeMethod;
-                    }
+                    methodsById.putIfAbsent(returnTypeMethod.getMethodId(), returnTypeMethod);
                 }
-
             }
         }
-        return null;
+        return methodsById;
     }
 
 }
@@ -0,0 +1,144 @@
+package com.weirddev.testme.intellij.builder;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiUtil;
+import com.weirddev.testme.intellij.cache.LibraryTypeSummary;
+import com.weirddev.testme.intellij.cache.LibraryTypeSummaryCache;
+import com.weirddev.testme.intellij.resolvers.to.ResolvedMethodCall;
+import com.weirddev.testme.intellij.template.TypeDictionary;
+import com.weirddev.testme.intellij.template.TypeGraphBudget;
+import com.weirddev.testme.intellij.utils.TypeUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Resolves the PSI of the classes reachable from a test subject breadth first, one recursion level at a time - concurrently, each class of a level on its own worker,
+ * or sequentially. Method relevancy and resolved method calls are computed once and cached by the type dictionary and the PSI, so the type graph
+ * built afterward by the type dictionary serves them from cache. Spends the type graph budget of a test generation, level by level.
+ * Expected to be called in a read action, which workers share.
+ *
+ * @see TypeDictionary#startBudget(int)
+ */
+public class TypeGraphPrefetcher {
+    private final TypeDictionary typeDictionary;
+    private final TypeGraphBudget.Tracker budgetTracker;
+    private final boolean concurrent;
+    private final Set<String> visitedClasses = ConcurrentHashMap.newKeySet();
+    private volatile boolean budgetExhausted;
+
+    public TypeGraphPrefetcher(TypeDictionary typeDictionary, TypeGraphBudget.Tracker budgetTracker, boolean concurrent) {
+        this.typeDictionary = typeDictionary;
+        this.budgetTracker = budgetTracker;
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * @return no. of recursion levels fully prefetched. less than max recursion depth when there were no more classes to prefetch, or the type graph budget was exhausted
+     */
+    public int prefetch(PsiClass testSubjectClass, int maxRecursionDepth) {
+        List<PsiClass> level = new ArrayList<>();
+        addUnvisited(testSubjectClass, level);
+        int prefetchedLevels = 0;
+        final ProgressIndicator currentIndicator = ProgressManager.getInstance().getProgressIndicator();
+        final ProgressIndicator indicator = currentIndicator == null ? new EmptyProgressIndicator() : currentIndicator;
+        for (int depth = maxRecursionDepth; depth > 0 && !level.isEmpty(); depth--) {
+            if (budgetTracker.isExhausted(visitedClasses.size())) {
+                budgetExhausted = true;
+            }
+            final Queue<PsiClass> nextLevel = new ConcurrentLinkedQueue<>();
+            if (!budgetExhausted && concurrent) {
+                JobLauncher.getInstance().invokeConcurrentlyUnderProgress(level, indicator, psiClass -> {
+                    prefetchClass(psiClass, nextLevel);
+                    return true;
+                });
+            } else if (!budgetExhausted) {
+                for (PsiClass psiClass : level) {
+                    prefetchClass(psiClass, nextLevel);
+                }
+            }
+            if (budgetExhausted) {
+                break;
+            }
+            prefetchedLevels++;
+            level = new ArrayList<>();
+            for (PsiClass psiClass : nextLevel) {
+                addUnvisited(psiClass, level);
+            }
+        }
+        return prefetchedLevels;
+    }
+
+    /**
+     * @return true if prefetching stopped since the type graph budget was exhausted
+     */
+    public boolean isBudgetExhausted() {
+        return budgetExhausted;
+    }
+
+    private void prefetchClass(PsiClass psiClass, Queue<PsiClass> nextLevel) {
+        if (!psiClass.isValid()) {
+            return;
+        }
+        if (budgetTracker.isExhausted(visitedClasses.size())) {
+            budgetExhausted = true;
+            return;
+        }
+        final PsiMethod[] allMethods = psiClass.getAllMethods();
+        final LibraryTypeSummary librarySummary = typeDictionary.isTestSubject(psiClass) ? null : LibraryTypeSummaryCache.getInstance().findSummary(psiClass, allMethods);
+        for (int i = 0; i < allMethods.length; i++) {
+            final PsiMethod psiMethod = allMethods[i];
+            ProgressManager.checkCanceled();
+            if (librarySummary != null && !typeDictionary.mayResolveMethod(librarySummary, i) || !typeDictionary.isInMethodScope(psiMethod, psiClass)) {
+                continue;
+            }
+            // methods without a containing class are checked for relevancy in the context of the resolving type only
+            if (psiMethod.getContainingClass() == null) {
+                continue;
+            }
+            final boolean relevant = typeDictionary.isRelevant(psiMethod, psiClass);
+            if (relevant || typeDictionary.isTestSubject(psiClass)) {
+                for (ResolvedMethodCall methodCall : MethodFactory.resolvedMethodCalls(psiMethod)) {
+                    final PsiMethod calledMethod = methodCall.getPsiMethod();
+                    if (calledMethod != null && calledMethod.getContainingClass() != null) {
+                        typeDictionary.isRelevant(calledMethod, null);
+                    }
+                }
+            }
+            if (relevant || psiMethod.isConstructor()) {
+                for (PsiParameter psiParameter : psiMethod.getParameterList().getParameters()) {
+                    offer(psiParameter.getType(), nextLevel);
+                }
+                offer(psiMethod.getReturnType(), nextLevel);
+            }
+        }
+        if (!TypeUtils.isLanguageBaseClass(psiClass.getQualifiedName()) && !TypeUtils.isBasicType(psiClass.getQualifiedName())) {
+            for (PsiField psiField : psiClass.getAllFields()) {
+                offer(psiField.getType(), nextLevel);
+            }
+        }
+    }
+
+    private static void offer(@Nullable PsiType psiType, Queue<PsiClass> nextLevel) {
+        final PsiClass psiClass = psiType == null ? null : PsiUtil.resolveClassInType(psiType);
+        if (psiClass != null && !(psiClass instanceof PsiTypeParameter)) {
+            nextLevel.add(psiClass);
+        }
+    }
+
+    private void addUnvisited(PsiClass psiClass, List<PsiClass> level) {
+        final String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName != null && !TypeUtils.isLanguageBaseClass(qualifiedName) && visitedClasses.add(qualifiedName)) {
+            level.add(psiClass);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.weirddev.testme.intellij.cache;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Size bounded LRU cache safe for concurrent use. Keys are spread over lock-striped segments, each evicting its least recently used entries.
+ * A value is computed once per key, outside of the segment lock - concurrent requests for the same key wait for the computing thread,
+ * while requests for other keys are not blocked. A waiting thread stays responsive to its own cancellation, and computes the value itself
+ * if the computing thread was cancelled or failed.
+ */
+public class ConcurrentLruCache<K, V> implements Cache<K, V> {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final long AWAIT_POLL_MILLIS = 10;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    public ConcurrentLruCache(final int maxSize) {
+        this(maxSize, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLruCache(final int maxSize, final int concurrencyLevel) {
+        int segmentsCount = 1;
+        while (segmentsCount < concurrencyLevel && segmentsCount < maxSize) {
+            segmentsCount <<= 1;
+        }
+        segments = new Segment[segmentsCount];
+        segmentMask = segmentsCount - 1;
+        final int segmentMaxSize = Math.max(1, (maxSize + segmentsCount - 1) / segmentsCount);
+        for (int i = 0; i < segmentsCount; i++) {
+            segments[i] = new Segment<>(segmentMaxSize);
+        }
+    }
+
+    @Override
+    public V getOrCompute(K key, Supplier<V> valueSupplier) {
+        requests.incrementAndGet();
+        final Segment<K, V> segment = segmentFor(key);
+        while (true) {
+            final Entry<V> newEntry = new Entry<>();
+            final Entry<V> entry;
+            segment.lock.lock();
+            try {
+                final Entry<V> existingEntry = segment.entries.get(key);
+                if (existingEntry != null) {
+                    entry = existingEntry;
+                } else {
+                    segment.entries.put(key, newEntry);
+                    evictions.addAndGet(segment.evictOverflow());
+                    entry = newEntry;
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            if (entry == newEntry) {
+                return load(key, newEntry, segment, valueSupplier);
+            }
+            if (entry.loadingThread == Thread.currentThread() && !entry.value.isDone()) {
+                // re-entrant request for a value being computed by this very thread. waiting would dead lock
+                return valueSupplier.get();
+            }
+            if (await(entry)) {
+                hits.incrementAndGet();
+                return entry.value.join();
+            }
+            // the computing thread was cancelled or failed, and removed its entry. computed again, rather than failing this caller with the computing thread's exception
+        }
+    }
+
+    /**
+     * removes the entry of the given key, if its value is the given one. so a value found to be stale is computed again on next request
+     */
+    public void remove(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            final Entry<V> entry = segment.entries.get(key);
+            if (entry != null && entry.value.isDone() && !entry.value.isCompletedExceptionally() && entry.value.join() == value) {
+                segment.entries.remove(key);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private V load(K key, Entry<V> entry, Segment<K, V> segment, Supplier<V> valueSupplier) {
+        final long start = System.nanoTime();
+        try {
+            final V value = valueSupplier.get();
+            entry.value.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            segment.remove(key, entry);
+            entry.value.completeExceptionally(e);
+            throw e;
+        } finally {
+            entry.loadingThread = null;
+            loadNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * waits for a value computed by another thread, while checking for cancellation of the waiting thread
+     *
+     * @return true if the value was computed, false if its computation failed
+     */
+    private boolean await(Entry<V> entry) {
+        while (!entry.value.isDone()) {
+            ProgressManager.checkCanceled();
+            try {
+                entry.value.get(AWAIT_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // polled again, or checked below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessCanceledException(e);
+            }
+        }
+        return !entry.value.isCompletedExceptionally();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        final int h = key == null ? 0 : key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.entries.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public LruCache.CacheStats getUsageStats() {
+        return new LruCache.CacheStats(hits.get(), requests.get(), size(), evictions.get(), loadNanos.get());
+    }
+
+    private static class Entry<V> {
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        private volatile Thread loadingThread = Thread.currentThread();
+    }
+
+    private static class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxSize;
+
+        private Segment(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * should be called while holding the segment lock
+         * @return number of evicted entries
+         */
+        private int evictOverflow() {
+            int evicted = 0;
+            final Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+
+        private void remove(K key, Entry<V> entry) {
+            lock.lock();
+            try {
+                if (entries.get(key) == entry) {
+                    entries.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.weirddev.testme.intellij.cache;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.DirectClassInheritorsSearch;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Project level cache of class inheritors. Used for replacing interface and abstract types with concrete candidates,
+ * so generating tests for many methods or classes searches the inheritors of a type once.
+ * Cached inheritors are discarded once any PSI or project roots have changed.
+ */
+public class InheritorsCache {
+    private static final Key<CachedValue<Map<String, List<String>>>> DIRECT_INHERITORS_KEY = Key.create("TestMe.DirectInheritors");
+    private final Project project;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong searches = new AtomicLong();
+
+    public InheritorsCache(Project project) {
+        this.project = project;
+    }
+
+    public static InheritorsCache getInstance(@NotNull Project project) {
+        return project.getService(InheritorsCache.class);
+    }
+
+    /**
+     * @return qualified names of the classes directly extending or implementing the given class in project scope, in search order. anonymous classes excluded
+     */
+    public List<String> findDirectInheritors(@NotNull PsiClass psiClass) {
+        final String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName == null) {
+            return Collections.emptyList();
+        }
+        requests.incrementAndGet();
+        return getDirectInheritors().computeIfAbsent(qualifiedName, name -> searchDirectInheritors(psiClass));
+    }
+
+    public LruCache.CacheStats getUsageStats() {
+        final long requestsCount = requests.get();
+        return new LruCache.CacheStats(requestsCount - searches.get(), requestsCount, getDirectInheritors().size());
+    }
+
+    private Map<String, List<String>> getDirectInheritors() {
+        return CachedValuesManager.getManager(project).getCachedValue(project, DIRECT_INHERITORS_KEY,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), PsiModificationTracker.getInstance(project).forLanguages(language -> true),
+                        ProjectRootModificationTracker.getInstance(project)), false);
+    }
+
+    private List<String> searchDirectInheritors(PsiClass psiClass) {
+        searches.incrementAndGet();
+        final List<String> inheritors = new ArrayList<>();
+        for (PsiClass inheritor : DirectClassInheritorsSearch.search(psiClass, GlobalSearchScope.projectScope(project), false).findAll()) {
+            if (inheritor.getQualifiedName() != null) {
+                inheritors.add(inheritor.getQualifiedName());
+            }
+        }
+        return Collections.unmodifiableList(inheritors);
+    }
+}
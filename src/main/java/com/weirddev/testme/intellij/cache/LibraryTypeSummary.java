@@ -0,0 +1,174 @@
+package com.weirddev.testme.intellij.cache;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+import com.weirddev.testme.intellij.common.utils.PsiMethodUtils;
+import com.weirddev.testme.intellij.utils.JavaPsiTreeUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compact summary of a compiled library class: enum constants, and the id, owner and kind of each of its methods, in {@link PsiClass#getAllMethods()} order.
+ * Lets a type graph skip library methods that can be neither constructors, accessors nor relevant to the test subject, without resolving their PSI.
+ * Tagged with the keys of the archives of its supertypes, so a summary is replaced once a library it depends on has changed.
+ *
+ * @see LibraryTypeSummaryCache
+ */
+public class LibraryTypeSummary {
+    private static final byte CONSTRUCTOR = 1;
+    private static final byte ACCESSOR_SIGNATURE = 2;
+    private final String qualifiedName;
+    private final Map<String, String> supertypeArchiveKeys;
+    private final List<String> enumConstants;
+    private final String[] methodIds;
+    private final String[] methodOwners;
+    private final byte[] methodKinds;
+    /**
+     * true once this summary is known to match its class in the current session
+     */
+    private volatile boolean validated;
+
+    LibraryTypeSummary(String qualifiedName, Map<String, String> supertypeArchiveKeys, List<String> enumConstants, String[] methodIds, String[] methodOwners, byte[] methodKinds) {
+        this.qualifiedName = qualifiedName;
+        this.supertypeArchiveKeys = supertypeArchiveKeys;
+        this.enumConstants = enumConstants;
+        this.methodIds = methodIds;
+        this.methodOwners = methodOwners;
+        this.methodKinds = methodKinds;
+    }
+
+    /**
+     * @param supertypeArchiveKeys keys of the archives declaring inherited methods of the class, by archive root url
+     */
+    static LibraryTypeSummary create(@NotNull PsiClass psiClass, @NotNull String qualifiedName, PsiMethod[] allMethods, Map<String, String> supertypeArchiveKeys) {
+        final String[] methodOwners = new String[allMethods.length];
+        final byte[] methodKinds = new byte[allMethods.length];
+        for (int i = 0; i < allMethods.length; i++) {
+            final PsiMethod psiMethod = allMethods[i];
+            final PsiClass containingClass = psiMethod.getContainingClass();
+            methodOwners[i] = containingClass == null || containingClass.getQualifiedName() == null ? qualifiedName : containingClass.getQualifiedName();
+            methodKinds[i] = (byte) ((psiMethod.isConstructor() ? CONSTRUCTOR : 0) | (hasAccessorSignature(psiMethod) ? ACCESSOR_SIGNATURE : 0));
+        }
+        final List<String> enumConstants = psiClass.isEnum() ? Collections.unmodifiableList(JavaPsiTreeUtils.resolveEnumValues(psiClass, null)) : Collections.emptyList();
+        final LibraryTypeSummary summary = new LibraryTypeSummary(qualifiedName, supertypeArchiveKeys, enumConstants, formatMethodIds(allMethods), methodOwners, methodKinds);
+        summary.validated = true;
+        return summary;
+    }
+
+    static String[] formatMethodIds(PsiMethod[] allMethods) {
+        final String[] methodIds = new String[allMethods.length];
+        for (int i = 0; i < allMethods.length; i++) {
+            methodIds[i] = PsiMethodUtils.formatMethodId(allMethods[i]);
+        }
+        return methodIds;
+    }
+
+    /**
+     * a superset of property getters and setters by name and parameters count only, so the summary does not depend on how accessors are detected
+     */
+    private static boolean hasAccessorSignature(PsiMethod psiMethod) {
+        final String name = psiMethod.getName();
+        final int parametersCount = psiMethod.getParameterList().getParametersCount();
+        return parametersCount == 0 && (name.startsWith("get") || name.startsWith("is")) || parametersCount == 1 && name.startsWith("set");
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public List<String> getEnumConstants() {
+        return enumConstants;
+    }
+
+    public int getMethodsCount() {
+        return methodIds.length;
+    }
+
+    public String getMethodId(int methodIndex) {
+        return methodIds[methodIndex];
+    }
+
+    /**
+     * @return qualified name of the class declaring the method. the summarized class itself when unknown
+     */
+    public String getMethodOwner(int methodIndex) {
+        return methodOwners[methodIndex];
+    }
+
+    public boolean isConstructor(int methodIndex) {
+        return (methodKinds[methodIndex] & CONSTRUCTOR) != 0;
+    }
+
+    public boolean hasAccessorSignature(int methodIndex) {
+        return (methodKinds[methodIndex] & ACCESSOR_SIGNATURE) != 0;
+    }
+
+    /**
+     * @return keys of the archives declaring inherited methods of the class, by archive root url. sorted
+     */
+    Map<String, String> getSupertypeArchiveKeys() {
+        return supertypeArchiveKeys;
+    }
+
+    boolean isValidated() {
+        return validated;
+    }
+
+    /**
+     * @return true if this summary was created from the same method signatures, in the same order. remembered for the rest of the session when true,
+     * so the other inputs of the summary are to be validated first
+     */
+    boolean validate(PsiMethod[] allMethods) {
+        if (!validated && Arrays.equals(methodIds, formatMethodIds(allMethods))) {
+            validated = true;
+        }
+        return validated;
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeUTF(qualifiedName);
+        out.writeShort(supertypeArchiveKeys.size());
+        for (Map.Entry<String, String> supertypeArchiveKey : supertypeArchiveKeys.entrySet()) {
+            out.writeUTF(supertypeArchiveKey.getKey());
+            out.writeUTF(supertypeArchiveKey.getValue());
+        }
+        out.writeShort(enumConstants.size());
+        for (String enumConstant : enumConstants) {
+            out.writeUTF(enumConstant);
+        }
+        out.writeShort(methodIds.length);
+        for (int i = 0; i < methodIds.length; i++) {
+            out.writeUTF(methodIds[i]);
+            out.writeUTF(methodOwners[i]);
+            out.writeByte(methodKinds[i]);
+        }
+    }
+
+    static LibraryTypeSummary read(DataInput in) throws IOException {
+        final String qualifiedName = in.readUTF();
+        final int supertypeArchivesCount = in.readUnsignedShort();
+        final Map<String, String> supertypeArchiveKeys = new TreeMap<>();
+        for (int i = 0; i < supertypeArchivesCount; i++) {
+            supertypeArchiveKeys.put(in.readUTF(), in.readUTF());
+        }
+        final int enumConstantsCount = in.readUnsignedShort();
+        final List<String> enumConstants = new ArrayList<>(enumConstantsCount);
+        for (int i = 0; i < enumConstantsCount; i++) {
+            enumConstants.add(in.readUTF());
+        }
+        final int methodsCount = in.readUnsignedShort();
+        final String[] methodIds = new String[methodsCount];
+        final String[] methodOwners = new String[methodsCount];
+        final byte[] methodKinds = new byte[methodsCount];
+        for (int i = 0; i < methodsCount; i++) {
+            methodIds[i] = in.readUTF();
+            methodOwners[i] = in.readUTF().intern();
+            methodKinds[i] = in.readByte();
+        }
+        return new LibraryTypeSummary(qualifiedName, Collections.unmodifiableMap(supertypeArchiveKeys), Collections.unmodifiableList(enumConstants), methodIds, methodOwners, methodKinds);
+    }
+}
@@ -0,0 +1,384 @@
+package com.weirddev.testme.intellij.cache;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCompiledElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.util.io.ByteBufferUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application level cache of {@link LibraryTypeSummary library type summaries}, persisted between IDE sessions.
+ * Summaries of classes of a library archive - a jar, or the modules image of a JDK - are kept in a file of their own under the IDE system directory,
+ * named after a hash of the archive path, size and modification time, so a changed archive gets new summaries. A summary is replaced once the method
+ * signatures of its class, or the archives of its supertypes, have changed - validated once per session, as archives are stat-ed once per session.
+ * Summary files are memory mapped and summaries decoded on first use.
+ * Summaries created during a session are appended to their file in batches, and once the IDE is closed. A file holding replaced or partially written
+ * summaries is compacted by rewriting it instead.
+ * Turned off by the testme.libraryTypeSummaries registry key.
+ */
+public class LibraryTypeSummaryCache implements Disposable {
+    private static final Logger LOG = Logger.getInstance(LibraryTypeSummaryCache.class.getName());
+    private static final String REGISTRY_KEY = "testme.libraryTypeSummaries";
+    private static final int FORMAT_MAGIC = 0x544D4C53;
+    private static final int FORMAT_VERSION = 3;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_PENDING_SUMMARIES = 100;
+    private static final String ARCHIVE_SEPARATOR = "!/";
+    private final Path summariesDir;
+    private final Map<String, LibrarySummaries> librariesSummaries = new ConcurrentHashMap<>();
+    private final Map<String, Optional<String>> archiveKeys = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong creations = new AtomicLong();
+
+    public LibraryTypeSummaryCache() {
+        this(Path.of(PathManager.getSystemPath(), "testme", "library-type-summaries"));
+    }
+
+    LibraryTypeSummaryCache(Path summariesDir) {
+        this.summariesDir = summariesDir;
+    }
+
+    public static LibraryTypeSummaryCache getInstance() {
+        return ApplicationManager.getApplication().getService(LibraryTypeSummaryCache.class);
+    }
+
+    @Nullable
+    public LibraryTypeSummary findSummary(@NotNull PsiClass psiClass) {
+        return psiClass instanceof PsiCompiledElement ? findSummary(psiClass, psiClass.getAllMethods()) : null;
+    }
+
+    /**
+     * @param allMethods {@link PsiClass#getAllMethods()} of the class
+     * @return summary of the given class when it is a compiled class of a library archive, created on first use. null otherwise, or when turned off
+     */
+    @Nullable
+    public LibraryTypeSummary findSummary(@NotNull PsiClass psiClass, PsiMethod[] allMethods) {
+        if (!(psiClass instanceof PsiCompiledElement) || !Registry.is(REGISTRY_KEY, true)) {
+            return null;
+        }
+        final String qualifiedName = psiClass.getQualifiedName();
+        final VirtualFile archiveRoot = findArchiveRoot(psiClass);
+        final String archiveKey = archiveRoot == null || qualifiedName == null ? null : resolveArchiveKey(archiveRoot);
+        if (archiveKey == null) {
+            return null;
+        }
+        requests.incrementAndGet();
+        final LibrarySummaries librarySummaries = librariesSummaries.computeIfAbsent(archiveKey, key -> new LibrarySummaries(summariesDir.resolve(hash(key) + ".bin")));
+        LibraryTypeSummary summary = librarySummaries.get(qualifiedName);
+        if (summary == null || summary.getMethodsCount() != allMethods.length || !summary.isValidated() && !isValid(summary, archiveRoot, allMethods)) {
+            creations.incrementAndGet();
+            summary = LibraryTypeSummary.create(psiClass, qualifiedName, allMethods, resolveSupertypeArchiveKeys(archiveRoot, allMethods));
+            if (librarySummaries.add(summary) >= MAX_PENDING_SUMMARIES) {
+                librarySummaries.flush();
+            }
+        }
+        return summary;
+    }
+
+    public LruCache.CacheStats getUsageStats() {
+        final long requestsCount = requests.get();
+        final long creationsCount = creations.get();
+        return new LruCache.CacheStats(requestsCount - creationsCount, requestsCount, librariesSummaries.values().stream().mapToInt(LibrarySummaries::size).sum());
+    }
+
+    @Override
+    public void dispose() {
+        for (LibrarySummaries librarySummaries : librariesSummaries.values()) {
+            librarySummaries.flush();
+        }
+        librariesSummaries.clear();
+        archiveKeys.clear();
+    }
+
+    /**
+     * @return true if the given summary, persisted by a former session, matches the method signatures of its class and the archives of its supertypes
+     */
+    private boolean isValid(LibraryTypeSummary summary, VirtualFile archiveRoot, PsiMethod[] allMethods) {
+        for (Map.Entry<String, String> supertypeArchiveKey : summary.getSupertypeArchiveKeys().entrySet()) {
+            if (!supertypeArchiveKey.getValue().equals(resolveSupertypeArchiveKey(supertypeArchiveKey.getKey()))) {
+                return false;
+            }
+        }
+        return summary.getSupertypeArchiveKeys().keySet().equals(resolveSupertypeArchiveRoots(archiveRoot, allMethods)) && summary.validate(allMethods);
+    }
+
+    @Nullable
+    private static VirtualFile findArchiveRoot(PsiClass psiClass) {
+        final PsiFile psiFile = psiClass.getContainingFile();
+        final VirtualFile classFile = psiFile == null ? null : psiFile.getVirtualFile();
+        return classFile == null ? null : VfsUtilCore.getRootFile(classFile);
+    }
+
+    /**
+     * @return keys of the archives declaring inherited methods of a class, other than its own archive, by archive root url. sorted
+     */
+    private Map<String, String> resolveSupertypeArchiveKeys(VirtualFile archiveRoot, PsiMethod[] allMethods) {
+        final Map<String, String> supertypeArchiveKeys = new TreeMap<>();
+        for (String supertypeArchiveRootUrl : resolveSupertypeArchiveRoots(archiveRoot, allMethods)) {
+            supertypeArchiveKeys.put(supertypeArchiveRootUrl, resolveSupertypeArchiveKey(supertypeArchiveRootUrl));
+        }
+        return Collections.unmodifiableMap(supertypeArchiveKeys);
+    }
+
+    /**
+     * @return key of the archive of the given root url. the root path when not an archive
+     */
+    private String resolveSupertypeArchiveKey(String supertypeArchiveRootUrl) {
+        final String supertypeArchiveKey = resolveArchiveKey(supertypeArchiveRootUrl);
+        return supertypeArchiveKey == null ? VirtualFileManager.extractPath(supertypeArchiveRootUrl) : supertypeArchiveKey;
+    }
+
+    /**
+     * @return urls of the roots of the archives declaring inherited methods of a class, other than its own archive
+     */
+    private static Set<String> resolveSupertypeArchiveRoots(VirtualFile archiveRoot, PsiMethod[] allMethods) {
+        final Set<String> supertypeArchiveRoots = new HashSet<>();
+        PsiClass lastContainingClass = null;
+        for (PsiMethod psiMethod : allMethods) {
+            final PsiClass containingClass = psiMethod.getContainingClass();
+            if (containingClass == null || containingClass == lastContainingClass) {
+                continue;
+            }
+            lastContainingClass = containingClass;
+            final VirtualFile supertypeArchiveRoot = findArchiveRoot(containingClass);
+            if (supertypeArchiveRoot != null && !supertypeArchiveRoot.equals(archiveRoot)) {
+                supertypeArchiveRoots.add(supertypeArchiveRoot.getUrl());
+            }
+        }
+        return supertypeArchiveRoots;
+    }
+
+    @Nullable
+    private String resolveArchiveKey(VirtualFile archiveRoot) {
+        return resolveArchiveKey(archiveRoot.getUrl());
+    }
+
+    /**
+     * @param archiveRootUrl url of an archive root
+     * @return path, size and modification time of the archive. null if not an archive. the archive is stat-ed once per session
+     */
+    @Nullable
+    private String resolveArchiveKey(String archiveRootUrl) {
+        return archiveKeys.computeIfAbsent(archiveRootUrl, url -> Optional.ofNullable(statArchive(VirtualFileManager.extractProtocol(url), VirtualFileManager.extractPath(url))))
+                .orElse(null);
+    }
+
+    @Nullable
+    private static String statArchive(String protocol, String rootPath) {
+        final int separatorIndex = rootPath.indexOf(ARCHIVE_SEPARATOR);
+        if (separatorIndex <= 0) {
+            return null;
+        }
+        try {
+            Path archive = Path.of(rootPath.substring(0, separatorIndex));
+            if (Files.isDirectory(archive)) {
+                archive = archive.resolve("lib").resolve("modules"); // jrt file system of a JDK home
+            }
+            return protocol + ":" + archive + "|" + Files.size(archive) + "|" + Files.getLastModifiedTime(archive).toMillis();
+        } catch (IOException | InvalidPathException e) {
+            LOG.debug("library archive not found for " + rootPath, e);
+            return null;
+        }
+    }
+
+    private static String hash(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * summaries of the classes of a single library archive. entries of the summaries file are a length prefixed summary each, decoded on first use.
+     * a class summarized more than once is served from its last entry, until the file is compacted. mapped entries are accessed while holding the monitor,
+     * so the file can be unmapped before it is rewritten
+     */
+    static class LibrarySummaries {
+        private final Path summariesFile;
+        private final Map<String, LibraryTypeSummary> summaries = new ConcurrentHashMap<>();
+        private final Map<String, LibraryTypeSummary> pendingSummaries = new LinkedHashMap<>();
+        private final Map<String, Integer> entriesOffsets = new HashMap<>();
+        private MappedByteBuffer entries;
+        private boolean unknownFormat;
+        private int staleEntries;
+
+        LibrarySummaries(Path summariesFile) {
+            this.summariesFile = summariesFile;
+            map();
+        }
+
+        @Nullable
+        LibraryTypeSummary get(String qualifiedName) {
+            LibraryTypeSummary summary = summaries.get(qualifiedName);
+            if (summary == null) {
+                synchronized (this) {
+                    final Integer offset = entriesOffsets.get(qualifiedName);
+                    summary = offset == null ? null : decode(offset);
+                }
+                if (summary != null) {
+                    summaries.putIfAbsent(qualifiedName, summary);
+                }
+            }
+            return summary;
+        }
+
+        /**
+         * @return no. of summaries pending to be written
+         */
+        synchronized int add(LibraryTypeSummary summary) {
+            summaries.put(summary.getQualifiedName(), summary);
+            if (pendingSummaries.put(summary.getQualifiedName(), summary) == null && entriesOffsets.containsKey(summary.getQualifiedName())) {
+                staleEntries++;
+            }
+            return pendingSummaries.size();
+        }
+
+        int size() {
+            return Math.max(summaries.size(), entriesOffsets.size());
+        }
+
+        /**
+         * appends pending summaries to the summaries file. rewrites the file instead when it is of an unknown format, or holds replaced or partially written summaries
+         */
+        synchronized void flush() {
+            if (pendingSummaries.isEmpty()) {
+                return;
+            }
+            try {
+                Files.createDirectories(summariesFile.getParent());
+                final boolean rewrite = unknownFormat || staleEntries > 0 || !Files.exists(summariesFile);
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                final DataOutputStream out = new DataOutputStream(bytes);
+                if (rewrite) {
+                    out.writeInt(FORMAT_MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    writeMappedEntries(out);
+                }
+                for (LibraryTypeSummary summary : pendingSummaries.values()) {
+                    final ByteArrayOutputStream entry = new ByteArrayOutputStream();
+                    summary.write(new DataOutputStream(entry));
+                    out.writeInt(entry.size());
+                    entry.writeTo(out);
+                }
+                out.flush();
+                if (rewrite) {
+                    // written aside and moved, as a mapped file can not be truncated on some platforms
+                    final Path rewrittenFile = summariesFile.resolveSibling(summariesFile.getFileName() + ".tmp");
+                    Files.write(rewrittenFile, bytes.toByteArray());
+                    unmap();
+                    Files.move(rewrittenFile, summariesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } else {
+                    unmap();
+                    Files.write(summariesFile, bytes.toByteArray(), StandardOpenOption.APPEND);
+                }
+                pendingSummaries.clear();
+                unknownFormat = false;
+                staleEntries = 0;
+            } catch (IOException e) {
+                LOG.warn("could not write library type summaries to " + summariesFile, e);
+            }
+            map();
+        }
+
+        /**
+         * writes the mapped entries of classes with no pending summary, as is
+         */
+        private void writeMappedEntries(DataOutputStream out) throws IOException {
+            if (entries == null) {
+                return;
+            }
+            for (Map.Entry<String, Integer> entryOffset : entriesOffsets.entrySet()) {
+                if (!pendingSummaries.containsKey(entryOffset.getKey())) {
+                    final int offset = entryOffset.getValue();
+                    final byte[] entry = new byte[Integer.BYTES + entries.getInt(offset)];
+                    entries.get(offset, entry);
+                    out.write(entry);
+                }
+            }
+        }
+
+        private void unmap() {
+            if (entries != null) {
+                ByteBufferUtil.cleanBuffer(entries);
+                entries = null;
+            }
+            entriesOffsets.clear();
+        }
+
+        private void map() {
+            unmap();
+            if (!Files.isRegularFile(summariesFile)) {
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(summariesFile, StandardOpenOption.READ)) {
+                final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (mapped.remaining() < HEADER_SIZE || mapped.getInt(0) != FORMAT_MAGIC || mapped.getInt(4) != FORMAT_VERSION) {
+                    LOG.info("discarding library type summaries of an unknown format " + summariesFile);
+                    ByteBufferUtil.cleanBuffer(mapped);
+                    unknownFormat = true;
+                    return;
+                }
+                int offset = HEADER_SIZE;
+                while (offset + Integer.BYTES <= mapped.limit()) {
+                    final int length = mapped.getInt(offset);
+                    if (length <= 0 || offset + Integer.BYTES + length > mapped.limit()) {
+                        staleEntries++; // entry partially written
+                        break;
+                    }
+                    if (entriesOffsets.put(readQualifiedName(mapped, offset + Integer.BYTES), offset) != null) {
+                        staleEntries++;
+                    }
+                    offset += Integer.BYTES + length;
+                }
+                entries = mapped;
+            } catch (IOException e) {
+                LOG.warn("could not read library type summaries from " + summariesFile, e);
+            }
+        }
+
+        private static String readQualifiedName(ByteBuffer buffer, int offset) throws IOException {
+            final byte[] name = new byte[Short.BYTES + Short.toUnsignedInt(buffer.getShort(offset))];
+            buffer.get(offset, name);
+            return new DataInputStream(new ByteArrayInputStream(name)).readUTF();
+        }
+
+        @Nullable
+        private LibraryTypeSummary decode(int offset) {
+            final byte[] entry = new byte[entries.getInt(offset)];
+            entries.get(offset + Integer.BYTES, entry);
+            try {
+                return LibraryTypeSummary.read(new DataInputStream(new ByteArrayInputStream(entry)));
+            } catch (IOException e) {
+                LOG.warn("corrupted library type summary in " + summariesFile, e);
+                return null;
+            }
+        }
+    }
+}
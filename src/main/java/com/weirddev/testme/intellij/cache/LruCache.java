@@ -47,16 +47,52 @@ public class LruCache<K, V> implements Cache<K, V> {
         private final long hits;
         private final long requests;
         private final long size;
+        private final long evictions;
+        private final long loadNanos;
 
         public CacheStats(long hits, long requests, long size) {
+            this(hits, requests, size, -1, -1);
+        }
+
+        /**
+         * @param evictions number of evicted entries. negative if not tracked
+         * @param loadNanos total time spent computing missing values. negative if not tracked
+         */
+        public CacheStats(long hits, long requests, long size, long evictions, long loadNanos) {
             this.hits = hits;
             this.requests = requests;
             this.size = size;
+            this.evictions = evictions;
+            this.loadNanos = loadNanos;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return requests - hits;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getLoadNanos() {
+            return loadNanos;
         }
 
         @Override
         public String toString() {
-            return "hits/req:" + hits + "/"+ requests + ". size:" + size;
+            return "hits/req:" + hits + "/"+ requests + ". size:" + size + (evictions < 0 ? "" : ". evictions:" + evictions) + (loadNanos < 0 ? "" : ". load time:" + loadNanos / 1_000_000 + "ms");
         }
     }
 }
@@ -0,0 +1,68 @@
+package com.weirddev.testme.intellij.cache;
+
+import com.intellij.util.lang.JavaVersion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test frameworks and JDK available to tests of a module - resolved from the test module classpath
+ *
+ * @see TestToolchainProfileCache
+ */
+public class TestToolchainProfile {
+    private final List<String> classpathJars;
+    private final String mockitoVersion;
+    private final boolean mockInline;
+    private final JavaVersion javaVersion;
+
+    public TestToolchainProfile(@NotNull List<String> classpathJars, @Nullable String mockitoVersion, boolean mockInline, @Nullable JavaVersion javaVersion) {
+        this.classpathJars = Collections.unmodifiableList(classpathJars);
+        this.mockitoVersion = mockitoVersion;
+        this.mockInline = mockInline;
+        this.javaVersion = javaVersion;
+    }
+
+    /**
+     * @return names of the jars in test module classpath
+     */
+    @NotNull
+    public List<String> getClasspathJars() {
+        return classpathJars;
+    }
+
+    /**
+     * @return version of mockito-core in test module classpath. null if not found
+     */
+    @Nullable
+    public String getMockitoVersion() {
+        return mockitoVersion;
+    }
+
+    /**
+     * @return true if mockito mock-maker-inline is turned on in test module classpath
+     */
+    public boolean isMockInline() {
+        return mockInline;
+    }
+
+    /**
+     * @return version of the test module JDK. null if test module has no java SDK
+     */
+    @Nullable
+    public JavaVersion getJavaVersion() {
+        return javaVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "TestToolchainProfile{" +
+                "classpathJars=" + classpathJars.size() +
+                ", mockitoVersion='" + mockitoVersion + '\'' +
+                ", mockInline=" + mockInline +
+                ", javaVersion=" + javaVersion +
+                '}';
+    }
+}
@@ -0,0 +1,132 @@
+package com.weirddev.testme.intellij.cache;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.module.ResourceFileUtil;
+import com.intellij.openapi.module.impl.scopes.ModuleWithDependenciesScope;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.lang.JavaVersion;
+import com.weirddev.testme.intellij.generator.MockBuilderFactory;
+import com.weirddev.testme.intellij.template.context.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Project level cache of test module toolchain profiles, shared by all test generations and mock builders of a module.
+ * A profile is discarded once module roots or SDK have changed, files have been added or removed, or the mockito MockMaker configuration has been edited.
+ */
+public class TestToolchainProfileCache {
+    private static final Logger LOG = Logger.getInstance(TestToolchainProfileCache.class.getName());
+    private static final Key<CachedValue<TestToolchainProfile>> TOOLCHAIN_PROFILE_KEY = Key.create("TestMe.TestToolchainProfile");
+    private static final String MOCK_MAKER_RESOURCE = "mockito-extensions/org.mockito.plugins.MockMaker";
+    private final Project project;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong computations = new AtomicLong();
+
+    public TestToolchainProfileCache(Project project) {
+        this.project = project;
+    }
+
+    public static TestToolchainProfileCache getInstance(@NotNull Project project) {
+        return project.getService(TestToolchainProfileCache.class);
+    }
+
+    @NotNull
+    public TestToolchainProfile getProfile(@NotNull Module testModule) {
+        requests.incrementAndGet();
+        return CachedValuesManager.getManager(project).getCachedValue(testModule, TOOLCHAIN_PROFILE_KEY, () -> computeProfile(testModule), false);
+    }
+
+    /**
+     * @return cache stats. misses are the computed profiles, size is the number of modules with an up to date cached profile
+     */
+    public LruCache.CacheStats getUsageStats() {
+        final long requestsCount = requests.get();
+        final long computationsCount = computations.get();
+        return new LruCache.CacheStats(requestsCount - computationsCount, requestsCount, countCachedProfiles());
+    }
+
+    private long countCachedProfiles() {
+        if (project.isDisposed()) {
+            return 0;
+        }
+        long cachedProfiles = 0;
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            final CachedValue<TestToolchainProfile> cachedProfile = module.getUserData(TOOLCHAIN_PROFILE_KEY);
+            if (cachedProfile != null && cachedProfile.hasUpToDateValue()) {
+                cachedProfiles++;
+            }
+        }
+        return cachedProfiles;
+    }
+
+    private CachedValueProvider.Result<TestToolchainProfile> computeProfile(Module testModule) {
+        computations.incrementAndGet();
+        final List<Object> dependencies = new ArrayList<>();
+        dependencies.add(ProjectRootModificationTracker.getInstance(project));
+        dependencies.add(VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS);
+        final VirtualFile mockMakerVFile = ResourceFileUtil.findResourceFileInDependents(testModule, MOCK_MAKER_RESOURCE);
+        LOG.debug("found mockito MockMaker in test module classpath:" + mockMakerVFile);
+        final PsiFile mockMakerPsiFile = mockMakerVFile == null || !mockMakerVFile.isValid() ? null : PsiManager.getInstance(project).findFile(mockMakerVFile);
+        if (mockMakerPsiFile != null) {
+            dependencies.add(mockMakerPsiFile);
+        }
+        final List<String> classpathJars = resolveClasspathJars(testModule);
+        final TestToolchainProfile profile = new TestToolchainProfile(classpathJars, MockBuilderFactory.resolveMockitoVersion(classpathJars), isMockInline(mockMakerPsiFile), resolveJavaVersion(testModule));
+        LOG.debug("resolved test toolchain of module " + testModule.getName() + ": " + profile);
+        return CachedValueProvider.Result.create(profile, dependencies);
+    }
+
+    @NotNull
+    private static List<String> resolveClasspathJars(Module testModule) {
+        GlobalSearchScope searchScope = testModule.getModuleWithDependenciesAndLibrariesScope(true);
+        if (searchScope instanceof ModuleWithDependenciesScope) {
+            ModuleWithDependenciesScope moduleWithDependenciesScope = (ModuleWithDependenciesScope) searchScope;
+            return moduleWithDependenciesScope.getRoots().stream().map(VirtualFile::getName).filter(name -> name.endsWith(".jar")).collect(Collectors.toList());
+        }
+        else {
+            return List.of();
+        }
+    }
+
+    private static boolean isMockInline(@Nullable PsiFile mockMakerPsiFile) {
+        boolean found = false;
+        if (mockMakerPsiFile != null) {
+            final String mockFileText = mockMakerPsiFile.getText();
+            found = StringUtils.hasLine(mockFileText, "mock-maker-inline");
+            LOG.debug("mockito MockMaker content:" + mockFileText);
+            LOG.debug("is mock-maker-inline turned on:" + found);
+        }
+        return found;
+    }
+
+    @Nullable
+    private static JavaVersion resolveJavaVersion(Module testModule) {
+        ModuleRootManager moduleRootManager = ModuleRootManager.getInstance(testModule);
+        Sdk sdk = moduleRootManager.getSdk();
+        if (sdk != null && sdk.getSdkType().getName().toLowerCase().contains("java")) {
+            return JavaVersion.tryParse(sdk.getVersionString());
+        }
+        else {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.weirddev.testme.intellij.cache;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiPackage;
+import com.weirddev.testme.intellij.template.TypeDictionary;
+import com.weirddev.testme.intellij.template.TypeGraphBudget;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Project level cache of resolved type graphs. Keeps the type dictionary built for a test subject between test generations,
+ * so generating again for an unchanged test subject re-uses the already resolved types.
+ * A cached type graph is discarded once any of the files declaring its types has been modified.
+ */
+public class TypeGraphCache {
+    private static final Logger LOG = Logger.getInstance(TypeGraphCache.class.getName());
+    private static final int MAX_CACHED_TEST_SUBJECTS = 20;
+    private static final int CONCURRENCY_LEVEL = 4;
+    private final ConcurrentLruCache<String, TypeDictionary> typeDictionaries = new ConcurrentLruCache<>(MAX_CACHED_TEST_SUBJECTS, CONCURRENCY_LEVEL);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+
+    public static TypeGraphCache getInstance(@NotNull Project project) {
+        return project.getService(TypeGraphCache.class);
+    }
+
+    /**
+     * @return a type dictionary of the test subject. a previously created one if still up to date, otherwise a new one.
+     * a type graph truncated by the budget of a generation is not re-used, so later generations resolve it within budgets of their own.
+     * a type dictionary is created once per key - concurrent requests for the same key wait for it, while requests for other keys are not blocked
+     *
+     * @param methodScope ids of test subject methods to build the type graph for. null - all methods
+     */
+    public TypeDictionary getTypeDictionary(@Nullable PsiClass srcClass, PsiPackage targetPackage, int maxRecursionDepth, boolean throwSpecificExceptionTypes, TypeGraphBudget budget,
+                                            @Nullable Set<String> methodScope) {
+        final String key = buildKey(srcClass, targetPackage, maxRecursionDepth, throwSpecificExceptionTypes, budget, methodScope);
+        if (key == null) {
+            return TypeDictionary.create(srcClass, targetPackage, throwSpecificExceptionTypes, budget, methodScope);
+        }
+        requests.incrementAndGet();
+        final AtomicBoolean created = new AtomicBoolean();
+        final Supplier<TypeDictionary> typeDictionaryFactory = () -> {
+            created.set(true);
+            return TypeDictionary.create(srcClass, targetPackage, throwSpecificExceptionTypes, budget, methodScope);
+        };
+        final TypeDictionary typeDictionary = typeDictionaries.getOrCompute(key, typeDictionaryFactory);
+        if (created.get()) {
+            return typeDictionary;
+        }
+        if (typeDictionary.isUpToDate()) {
+            hits.incrementAndGet();
+            LOG.debug("re-using resolved type graph of " + key + ". cache " + getUsageStats());
+            return typeDictionary;
+        }
+        typeDictionaries.remove(key, typeDictionary);
+        return typeDictionaries.getOrCompute(key, typeDictionaryFactory);
+    }
+
+    public void clear() {
+        typeDictionaries.clear();
+    }
+
+    public LruCache.CacheStats getUsageStats() {
+        return new LruCache.CacheStats(hits.get(), requests.get(), typeDictionaries.size());
+    }
+
+    @Nullable
+    private static String buildKey(@Nullable PsiClass srcClass, PsiPackage targetPackage, int maxRecursionDepth, boolean throwSpecificExceptionTypes, TypeGraphBudget budget, @Nullable Set<String> methodScope) {
+        if (srcClass == null || srcClass.getQualifiedName() == null) {
+            return null;
+        }
+        return srcClass.getQualifiedName() + "|" + (targetPackage == null ? "" : targetPackage.getQualifiedName()) + "|" + maxRecursionDepth + "|" + throwSpecificExceptionTypes + "|" + budget
+                + "|" + (methodScope == null ? "*" : String.join(",", new TreeSet<>(methodScope)));
+    }
+}
@@ -0,0 +1,197 @@
+package com.weirddev.testme.intellij.diagnostics;
+
+import com.weirddev.testme.intellij.cache.LruCache;
+import com.weirddev.testme.intellij.utils.JsonUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Timings of test generation phases and resolution counters, recorded for a single test generation
+ *
+ * @see GenerationMetricsService
+ */
+public class GenerationMetrics {
+    public static final String TYPE_GRAPH = "type graph";
+    public static final String METHOD_REFERENCES = "method references";
+    public static final String MOCK_BUILDERS = "mock builders";
+    public static final String TEMPLATE_RENDER = "velocity render";
+    public static final String PSI_CREATION = "psi creation";
+    public static final String OPTIMIZE_IMPORTS = "optimize imports";
+    public static final String SHORTEN_REFERENCES = "shorten references";
+    public static final String REFORMAT = "reformat";
+    public static final String[] PHASES = {TYPE_GRAPH, METHOD_REFERENCES, MOCK_BUILDERS, TEMPLATE_RENDER, PSI_CREATION, OPTIMIZE_IMPORTS, SHORTEN_REFERENCES, REFORMAT};
+    public static final String TYPES_CREATED = "types created";
+    public static final String METHODS_CREATED = "methods created";
+    public static final String METHODS_SHARED = "methods shared";
+    public static final String RELEVANCY_CHECKS = "relevancy checks";
+    public static final String ALLOCATED_KB = "allocated kb";
+    public static final String TYPES_TRUNCATED = "types truncated";
+    public static final String[] COUNTERS = {TYPES_CREATED, TYPES_TRUNCATED, METHODS_CREATED, METHODS_SHARED, RELEVANCY_CHECKS, ALLOCATED_KB};
+    public static final String TYPE_CACHE = "types";
+    public static final String RELEVANCY_CACHE = "method relevancy";
+    public static final String TYPE_GRAPH_CACHE = "type graphs";
+    public static final String INHERITORS_CACHE = "inheritors";
+    public static final String TOOLCHAIN_PROFILE_CACHE = "toolchain profiles";
+    public static final String LIBRARY_TYPE_SUMMARIES_CACHE = "library type summaries";
+
+    private final String testClass;
+    private final long timestamp;
+    private final Map<String, Long> phaseMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, Long> counters = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, LruCache.CacheStats> cacheStats = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final List<Consumer<GenerationMetrics>> collectors = new CopyOnWriteArrayList<>();
+    private volatile boolean failed;
+
+    public GenerationMetrics(String testClass) {
+        this.testClass = testClass;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public <T> T measure(String phase, Supplier<T> supplier) {
+        final long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            addPhaseTime(phase, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public void measure(String phase, Runnable runnable) {
+        measure(phase, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public void addPhaseTime(String phase, long millis) {
+        phaseMillis.merge(phase, millis, Long::sum);
+    }
+
+    /**
+     * @param collector records counters or cache stats once generation is done. i.e. after lazy resolution during template rendering
+     */
+    public void addCollector(Consumer<GenerationMetrics> collector) {
+        collectors.add(collector);
+    }
+
+    void collect() {
+        for (Consumer<GenerationMetrics> collector : collectors) {
+            collector.accept(this);
+        }
+        collectors.clear();
+    }
+
+    public void setCounter(String name, long value) {
+        counters.put(name, value);
+    }
+
+    public void addCounter(String name, long value) {
+        counters.merge(name, value, Long::sum);
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread. -1 if not supported by the JVM
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean && threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    public void setCacheStats(String cacheName, LruCache.CacheStats stats) {
+        cacheStats.put(cacheName, stats);
+    }
+
+    /**
+     * marks the generation as failed or cancelled before a test was rendered
+     */
+    public void markFailed() {
+        failed = true;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public String getTestClass() {
+        return testClass;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return time spent on phase in millis. -1 if phase was not executed
+     */
+    public long getPhaseMillis(String phase) {
+        return phaseMillis.getOrDefault(phase, -1L);
+    }
+
+    public long getTotalMillis() {
+        synchronized (phaseMillis) {
+            return phaseMillis.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    public Map<String, Long> getCounters() {
+        synchronized (counters) {
+            return new LinkedHashMap<>(counters);
+        }
+    }
+
+    public Map<String, LruCache.CacheStats> getCacheStats() {
+        synchronized (cacheStats) {
+            return new LinkedHashMap<>(cacheStats);
+        }
+    }
+
+    public String toJson() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"testClass\":").append(JsonUtils.quote(testClass)).append(",\"timestamp\":").append(timestamp).append(",\"totalMillis\":").append(getTotalMillis())
+                .append(",\"failed\":").append(failed);
+        sb.append(",\"phases\":{");
+        synchronized (phaseMillis) {
+            appendEntries(sb, phaseMillis);
+        }
+        sb.append("},\"counters\":{");
+        appendEntries(sb, getCounters());
+        sb.append("},\"caches\":{");
+        String separator = "";
+        for (Map.Entry<String, LruCache.CacheStats> entry : getCacheStats().entrySet()) {
+            final LruCache.CacheStats stats = entry.getValue();
+            sb.append(separator).append(JsonUtils.quote(entry.getKey())).append(":{\"hits\":").append(stats.getHits()).append(",\"requests\":").append(stats.getRequests())
+                    .append(",\"hitRatio\":").append(stats.getRequests() == 0 ? 0 : (double) stats.getHits() / stats.getRequests()).append(",\"size\":").append(stats.getSize()).append("}");
+            separator = ",";
+        }
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    private static void appendEntries(StringBuilder sb, Map<String, Long> entries) {
+        String separator = "";
+        for (Map.Entry<String, Long> entry : entries.entrySet()) {
+            sb.append(separator).append(JsonUtils.quote(entry.getKey())).append(":").append(entry.getValue());
+            separator = ",";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationMetrics{" +
+                "testClass='" + testClass + '\'' +
+                ", phaseMillis=" + phaseMillis +
+                ", counters=" + counters +
+                ", cacheStats=" + cacheStats +
+                ", failed=" + failed +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.weirddev.testme.intellij.diagnostics;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Project level store of the metrics of recent test generations
+ */
+public class GenerationMetricsService {
+    private static final Logger LOG = Logger.getInstance(GenerationMetricsService.class.getName());
+    private static final int MAX_RECORDED_GENERATIONS = 100;
+    private final Deque<GenerationMetrics> generationMetrics = new ArrayDeque<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public static GenerationMetricsService getInstance(@NotNull Project project) {
+        return project.getService(GenerationMetricsService.class);
+    }
+
+    public void record(GenerationMetrics metrics) {
+        metrics.collect();
+        LOG.debug("test generation metrics: " + metrics);
+        synchronized (generationMetrics) {
+            generationMetrics.addFirst(metrics);
+            while (generationMetrics.size() > MAX_RECORDED_GENERATIONS) {
+                generationMetrics.removeLast();
+            }
+        }
+        notifyListeners();
+    }
+
+    /**
+     * @return recorded metrics. most recent first
+     */
+    public List<GenerationMetrics> getGenerationMetrics() {
+        synchronized (generationMetrics) {
+            return new ArrayList<>(generationMetrics);
+        }
+    }
+
+    public void clear() {
+        synchronized (generationMetrics) {
+            generationMetrics.clear();
+        }
+        notifyListeners();
+    }
+
+    public String exportJson() {
+        final StringBuilder sb = new StringBuilder("[");
+        String separator = "\n";
+        for (GenerationMetrics metrics : getGenerationMetrics()) {
+            sb.append(separator).append(metrics.toJson());
+            separator = ",\n";
+        }
+        return sb.append("\n]\n").toString();
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.weirddev.testme.intellij.generator;
+
+import com.weirddev.testme.intellij.cache.LruCache;
+import com.weirddev.testme.intellij.utils.JsonUtils;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Summary of a bulk test generation run - generated/skipped/failed test subjects and time spent on each phase.
+ * Outcome and generation time of each test subject are kept for machine readable reports
+ *
+ * @see BulkTestMeGenerator
+ */
+public class BulkGenerationReport {
+    private static final int MAX_REPORTED_ISSUES = 10;
+    private final AtomicInteger generated = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, SubjectResult> subjectResults = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile long collectMillis;
+    private volatile long mergeMillis;
+    private volatile long writeMillis;
+    private volatile LruCache.CacheStats typeGraphCacheStats;
+
+    public void generated(String testSubject) {
+        generated.incrementAndGet();
+        subjectResult(testSubject).outcome = Outcome.GENERATED;
+    }
+
+    public void skipped(String testSubject, String reason) {
+        skipped.incrementAndGet();
+        final SubjectResult subjectResult = subjectResult(testSubject);
+        subjectResult.outcome = Outcome.SKIPPED;
+        subjectResult.reason = reason;
+    }
+
+    public void failed(String testSubject, String reason) {
+        failed.incrementAndGet();
+        failures.add(testSubject + ": " + reason);
+        final SubjectResult subjectResult = subjectResult(testSubject);
+        subjectResult.outcome = Outcome.FAILED;
+        subjectResult.reason = reason;
+    }
+
+    /**
+     * adds time spent on generating the test of a test subject
+     */
+    public void addSubjectMillis(String testSubject, long millis) {
+        final SubjectResult subjectResult = subjectResult(testSubject);
+        synchronized (subjectResult) {
+            subjectResult.millis += millis;
+        }
+    }
+
+    public int getGenerated() {
+        return generated.get();
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public List<String> getFailures() {
+        return failures;
+    }
+
+    void setCollectMillis(long collectMillis) {
+        this.collectMillis = collectMillis;
+    }
+
+    void setMergeMillis(long mergeMillis) {
+        this.mergeMillis = mergeMillis;
+    }
+
+    void setWriteMillis(long writeMillis) {
+        this.writeMillis = writeMillis;
+    }
+
+    void setTypeGraphCacheStats(LruCache.CacheStats typeGraphCacheStats) {
+        this.typeGraphCacheStats = typeGraphCacheStats;
+    }
+
+    private SubjectResult subjectResult(String testSubject) {
+        return subjectResults.computeIfAbsent(String.valueOf(testSubject), key -> new SubjectResult());
+    }
+
+    /**
+     * @return report of the run and the outcome of each test subject as a json object
+     */
+    public String toJson() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"generated\":").append(generated.get()).append(",\"skipped\":").append(skipped.get()).append(",\"failed\":").append(failed.get());
+        sb.append(",\"phases\":{\"collectMillis\":").append(collectMillis).append(",\"mergeMillis\":").append(mergeMillis).append(",\"writeMillis\":").append(writeMillis).append("}");
+        if (typeGraphCacheStats != null) {
+            sb.append(",\"typeGraphCache\":{\"hits\":").append(typeGraphCacheStats.getHits()).append(",\"requests\":").append(typeGraphCacheStats.getRequests())
+                    .append(",\"size\":").append(typeGraphCacheStats.getSize()).append("}");
+        }
+        sb.append(",\"classes\":[");
+        synchronized (subjectResults) {
+            String separator = "";
+            for (Map.Entry<String, SubjectResult> entry : subjectResults.entrySet()) {
+                final SubjectResult subjectResult = entry.getValue();
+                sb.append(separator).append("{\"class\":").append(JsonUtils.quote(entry.getKey())).append(",\"outcome\":").append(JsonUtils.quote(subjectResult.outcome.name().toLowerCase()))
+                        .append(",\"millis\":").append(subjectResult.millis);
+                if (subjectResult.reason != null) {
+                    sb.append(",\"reason\":").append(JsonUtils.quote(subjectResult.reason));
+                }
+                sb.append("}");
+                separator = ",";
+            }
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    public String getSummary() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Generated: ").append(generated.get()).append(", skipped: ").append(skipped.get()).append(", failed: ").append(failed.get()).append("\n");
+        sb.append("Collecting test subjects: ").append(collectMillis).append(" millis\n");
+        sb.append("Resolving and merging templates: ").append(mergeMillis).append(" millis\n");
+        sb.append("Writing test files: ").append(writeMillis).append(" millis\n");
+        if (typeGraphCacheStats != null) {
+            sb.append("Type graph cache: ").append(typeGraphCacheStats).append("\n");
+        }
+        synchronized (failures) {
+            failures.stream().limit(MAX_REPORTED_ISSUES).forEach(failure -> sb.append("\n").append(failure));
+            if (failures.size() > MAX_REPORTED_ISSUES) {
+                sb.append("\n... and ").append(failures.size() - MAX_REPORTED_ISSUES).append(" more. see idea.log");
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkGenerationReport{" +
+                "generated=" + generated +
+                ", skipped=" + skipped +
+                ", failed=" + failed +
+                ", collectMillis=" + collectMillis +
+                ", mergeMillis=" + mergeMillis +
+                ", writeMillis=" + writeMillis +
+                '}';
+    }
+
+    private enum Outcome {GENERATED, SKIPPED, FAILED, PENDING}
+
+    private static class SubjectResult {
+        private volatile Outcome outcome = Outcome.PENDING;
+        private volatile String reason;
+        private volatile long millis;
+    }
+}
@@ -0,0 +1,342 @@
+package com.weirddev.testme.intellij.generator;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.ide.fileTemplates.FileTemplateDescriptor;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.source.PostprocessReformattingAspect;
+import com.intellij.refactoring.PackageWrapper;
+import com.intellij.refactoring.util.RefactoringUtil;
+import com.intellij.testIntegration.TestFinderHelper;
+import com.weirddev.testme.intellij.action.CreateTestMeAction;
+import com.weirddev.testme.intellij.action.helpers.GeneratedClassNameResolver;
+import com.weirddev.testme.intellij.cache.TypeGraphCache;
+import com.weirddev.testme.intellij.configuration.TestMeConfigPersistent;
+import com.weirddev.testme.intellij.template.FileTemplateConfig;
+import com.weirddev.testme.intellij.template.FileTemplateContext;
+import com.weirddev.testme.intellij.template.TemplateDescriptor;
+import com.weirddev.testme.intellij.ui.customizedialog.FileTemplateCustomization;
+import com.weirddev.testme.intellij.utils.MergedTestTemplate;
+import com.weirddev.testme.intellij.utils.TestSubjectResolverUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Generates tests for all test subjects in selected packages, directories or modules.
+ * Test subjects are resolved and test templates merged concurrently in cancellable read actions, limited to the available cores.
+ * Test files are then created in groups, each group in a single write command.
+ * All test subjects of a run share the project type graph cache.
+ *
+ * @see TestMeGenerator
+ */
+public class BulkTestMeGenerator {
+    private static final Logger LOG = Logger.getInstance(BulkTestMeGenerator.class.getName());
+    private static final int WRITE_BATCH_SIZE = 20;
+    private final TestMeGenerator testMeGenerator;
+    private final GeneratedClassNameResolver generatedClassNameResolver;
+
+    public BulkTestMeGenerator() {
+        this(new TestMeGenerator(), new GeneratedClassNameResolver());
+    }
+
+    BulkTestMeGenerator(TestMeGenerator testMeGenerator, GeneratedClassNameResolver generatedClassNameResolver) {
+        this.testMeGenerator = testMeGenerator;
+        this.generatedClassNameResolver = generatedClassNameResolver;
+    }
+
+    public void generateInBackground(@NotNull final Project project, @NotNull final TemplateDescriptor templateDescriptor, @NotNull final List<PsiElement> roots) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "TestMe: generating tests", true) {
+            private BulkGenerationReport report;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                report = generate(project, templateDescriptor, roots, indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                LOG.info("Done bulk test generation. " + report);
+                Messages.showInfoMessage(project, report.getSummary(), "TestMe Bulk Generation");
+            }
+        });
+    }
+
+    /**
+     * generate tests for all test subjects under given roots. expected to be called from a background thread
+     */
+    @NotNull
+    public BulkGenerationReport generate(@NotNull Project project, @NotNull TemplateDescriptor templateDescriptor, @NotNull List<PsiElement> roots, @NotNull ProgressIndicator indicator) {
+        final BulkGenerationReport report = new BulkGenerationReport();
+        indicator.setIndeterminate(true);
+        indicator.setText("Collecting test subjects");
+        long start = System.currentTimeMillis();
+        final List<TestSubject> testSubjects = ReadAction.nonBlocking(() -> collectTestSubjects(roots, templateDescriptor, report))
+            .inSmartMode(project)
+            .expireWith(project)
+            .executeSynchronously();
+        createTargetDirectories(project, testSubjects, report);
+        final List<FileTemplateContext> contexts = ReadAction.nonBlocking(() -> buildContexts(project, templateDescriptor, testSubjects, report))
+            .inSmartMode(project)
+            .expireWith(project)
+            .executeSynchronously();
+        report.setCollectMillis(System.currentTimeMillis() - start);
+
+        indicator.setIndeterminate(false);
+        indicator.setText("Resolving test subjects");
+        start = System.currentTimeMillis();
+        TestTemplateCompilationCache.initRuntime();
+        final Map<FileTemplateContext, MergedTestTemplate> mergedTemplates = Collections.synchronizedMap(new LinkedHashMap<>());
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(contexts, indicator, context -> {
+            final MergedTestTemplate mergedTemplate = mergeTestTemplate(project, context, report);
+            if (mergedTemplate != null) {
+                mergedTemplates.put(context, mergedTemplate);
+            }
+            return true;
+        });
+        report.setMergeMillis(System.currentTimeMillis() - start);
+
+        indicator.setText("Creating test files");
+        start = System.currentTimeMillis();
+        createTestFiles(project, contexts, mergedTemplates, report, indicator);
+        report.setWriteMillis(System.currentTimeMillis() - start);
+        report.setTypeGraphCacheStats(TypeGraphCache.getInstance(project).getUsageStats());
+        return report;
+    }
+
+    @Nullable
+    private MergedTestTemplate mergeTestTemplate(Project project, FileTemplateContext context, BulkGenerationReport report) {
+        ProgressManager.checkCanceled();
+        final String testSubject = testSubjectName(context);
+        final long start = System.currentTimeMillis();
+        try {
+            return ReadAction.nonBlocking(() -> mergeTestTemplate(context, testSubject, report))
+                .inSmartMode(project)
+                .expireWith(project)
+                .executeSynchronously();
+        } finally {
+            report.addSubjectMillis(testSubject, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * merges the test template of a test subject. subjects not merged are reported - as skipped when their test class exists, otherwise as failed.
+     * template errors are reported rather than logged as IDE errors. expected to be called in a read action
+     *
+     * @return merged test template. null if not merged
+     */
+    @Nullable
+    MergedTestTemplate mergeTestTemplate(FileTemplateContext context, String testSubject, BulkGenerationReport report) {
+        if (!context.getSrcClass().isValid()) {
+            report.failed(testSubject, "test subject is no longer valid");
+            return null;
+        }
+        try {
+            final MergedTestTemplate mergedTemplate = testMeGenerator.mergeNewTestTemplate(context);
+            if (mergedTemplate == null) {
+                report.skipped(testSubject, "test class exists");
+            }
+            return mergedTemplate;
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.warn("error merging test template of " + context.getTargetClass(), e);
+            report.failed(testSubject, "test template could not be merged: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void createTestFiles(Project project, List<FileTemplateContext> contexts, Map<FileTemplateContext, MergedTestTemplate> mergedTemplates, BulkGenerationReport report, ProgressIndicator indicator) {
+        final List<FileTemplateContext> mergedContexts = contexts.stream().filter(mergedTemplates::containsKey).toList();
+        for (int i = 0; i < mergedContexts.size(); i += WRITE_BATCH_SIZE) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) i / mergedContexts.size());
+            final List<FileTemplateContext> batch = mergedContexts.subList(i, Math.min(i + WRITE_BATCH_SIZE, mergedContexts.size()));
+            ApplicationManager.getApplication().invokeAndWait(() -> WriteCommandAction.runWriteCommandAction(project, "TestMe Generate Tests", null, () ->
+                PostprocessReformattingAspect.getInstance(project).postponeFormattingInside(() -> {
+                    for (FileTemplateContext context : batch) {
+                        final String testSubject = testSubjectName(context);
+                        final long start = System.currentTimeMillis();
+                        try {
+                            if (testMeGenerator.createTestFile(context, mergedTemplates.get(context)) != null) {
+                                report.generated(testSubject);
+                            } else {
+                                report.skipped(testSubject, "test class exists");
+                            }
+                        } catch (ProcessCanceledException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            LOG.warn("error creating test class " + context.getTargetClass(), e);
+                            report.failed(testSubject, "test file could not be created: " + e.getMessage());
+                        } finally {
+                            report.addSubjectMillis(testSubject, System.currentTimeMillis() - start);
+                        }
+                    }
+                })
+            ));
+        }
+    }
+
+    private List<TestSubject> collectTestSubjects(List<PsiElement> roots, TemplateDescriptor templateDescriptor, BulkGenerationReport report) {
+        final Set<PsiClass> psiClasses = new LinkedHashSet<>();
+        for (PsiElement root : roots) {
+            if (root instanceof PsiPackage) {
+                for (PsiDirectory directory : ((PsiPackage) root).getDirectories()) {
+                    collectClasses(directory, psiClasses);
+                }
+            } else if (root instanceof PsiDirectory) {
+                collectClasses((PsiDirectory) root, psiClasses);
+            } else if (root instanceof PsiClassOwner) {
+                psiClasses.addAll(Arrays.asList(((PsiClassOwner) root).getClasses()));
+            } else if (root instanceof PsiClass) {
+                psiClasses.add((PsiClass) root);
+            }
+        }
+        final List<TestSubject> testSubjects = new ArrayList<>();
+        final Map<Module, VirtualFile> testRoots = new HashMap<>();
+        for (PsiClass psiClass : psiClasses) {
+            ProgressManager.checkCanceled();
+            if (!isInProductionSources(psiClass)) {
+                continue;
+            }
+            if (!TestSubjectResolverUtils.canBeTested(psiClass) || psiClass.isInterface()) {
+                report.skipped(psiClass.getQualifiedName(), "not a test subject");
+                continue;
+            }
+            if (!TestFinderHelper.findTestsForClass(psiClass).isEmpty()) {
+                report.skipped(psiClass.getQualifiedName(), "test class exists");
+                continue;
+            }
+            final Module srcModule = ModuleUtilCore.findModuleForPsiElement(psiClass);
+            final PsiDirectory srcDir = psiClass.getContainingFile().getContainingDirectory();
+            final PsiPackage srcPackage = srcDir == null ? null : JavaDirectoryService.getInstance().getPackage(srcDir);
+            if (srcModule == null || srcPackage == null) {
+                report.skipped(psiClass.getQualifiedName(), "no source module or package");
+                continue;
+            }
+            final Module testModule = CreateTestMeAction.suggestModuleForTestsReflective(psiClass.getProject(), srcModule);
+            final VirtualFile testRoot = testRoots.computeIfAbsent(testModule, BulkTestMeGenerator::findTestRoot);
+            if (testRoot == null) {
+                report.failed(psiClass.getQualifiedName(), "no test source root in module " + testModule.getName());
+                continue;
+            }
+            final String targetClassName = generatedClassNameResolver.composeTestClassName(psiClass);
+            if (testFileExists(testRoot, srcPackage, targetClassName + "." + FileUtilRt.getExtension(templateDescriptor.getFilename()))) {
+                report.skipped(psiClass.getQualifiedName(), "test file exists");
+                continue;
+            }
+            testSubjects.add(new TestSubject(psiClass, srcPackage, srcModule, testModule, testRoot, targetClassName));
+        }
+        return testSubjects;
+    }
+
+    private static boolean testFileExists(VirtualFile testRoot, PsiPackage srcPackage, String testFileName) {
+        final String packagePath = srcPackage.getQualifiedName().replace('.', '/');
+        final VirtualFile targetDirectory = packagePath.isEmpty() ? testRoot : testRoot.findFileByRelativePath(packagePath);
+        return targetDirectory != null && targetDirectory.findChild(testFileName) != null;
+    }
+
+    private static boolean isInProductionSources(PsiClass psiClass) {
+        final VirtualFile virtualFile = psiClass.getContainingFile().getVirtualFile();
+        final ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(psiClass.getProject());
+        return virtualFile != null && fileIndex.isInSourceContent(virtualFile) && !fileIndex.isInTestSourceContent(virtualFile);
+    }
+
+    private static void collectClasses(PsiDirectory directory, Set<PsiClass> psiClasses) {
+        ProgressManager.checkCanceled();
+        for (PsiFile psiFile : directory.getFiles()) {
+            if (psiFile instanceof PsiClassOwner) {
+                psiClasses.addAll(Arrays.asList(((PsiClassOwner) psiFile).getClasses()));
+            }
+        }
+        for (PsiDirectory subdirectory : directory.getSubdirectories()) {
+            collectClasses(subdirectory, psiClasses);
+        }
+    }
+
+    private static String testSubjectName(FileTemplateContext context) {
+        return ReadAction.compute(() -> context.getSrcClass().getQualifiedName());
+    }
+
+    @Nullable
+    private static VirtualFile findTestRoot(Module testModule) {
+        final List<VirtualFile> testRoots = CreateTestMeAction.computeTestRoots(testModule);
+        return testRoots.isEmpty() ? null : testRoots.get(0);
+    }
+
+    /**
+     * create all missing target package directories of this run in a single write command. test subjects whose directory could not be created are reported as failed
+     */
+    private void createTargetDirectories(Project project, List<TestSubject> testSubjects, BulkGenerationReport report) {
+        ApplicationManager.getApplication().invokeAndWait(() -> WriteCommandAction.runWriteCommandAction(project, "TestMe Create Test Directories", null, () -> {
+            final Map<String, PsiDirectory> createdDirectories = new HashMap<>();
+            for (TestSubject testSubject : testSubjects) {
+                try {
+                    final String packageName = testSubject.srcPackage.getQualifiedName();
+                    testSubject.targetDirectory = createdDirectories.computeIfAbsent(testSubject.testRoot.getUrl() + "|" + packageName,
+                        key -> RefactoringUtil.createPackageDirectoryInSourceRoot(new PackageWrapper(PsiManager.getInstance(project), packageName), testSubject.testRoot));
+                    if (testSubject.targetDirectory == null) {
+                        report.failed(testSubject.psiClass.getQualifiedName(), "target directory could not be created");
+                    }
+                } catch (ProcessCanceledException e) {
+                    throw e;
+                } catch (Exception e) {
+                    LOG.warn("error creating test directory of " + testSubject.psiClass.getQualifiedName(), e);
+                    report.failed(testSubject.psiClass.getQualifiedName(), "target directory could not be created: " + e.getMessage());
+                }
+            }
+        }));
+    }
+
+    private List<FileTemplateContext> buildContexts(Project project, TemplateDescriptor templateDescriptor, List<TestSubject> testSubjects, BulkGenerationReport report) {
+        final FileTemplateConfig fileTemplateConfig = new FileTemplateConfig(TestMeConfigPersistent.getInstance().getState());
+        final List<FileTemplateContext> contexts = new ArrayList<>();
+        for (TestSubject testSubject : testSubjects) {
+            if (testSubject.targetDirectory == null) {
+                continue; // reported when creating directories
+            }
+            if (!testSubject.psiClass.isValid()) {
+                report.failed(testSubject.psiClass.getQualifiedName(), "test subject is no longer valid");
+                continue;
+            }
+            contexts.add(new FileTemplateContext(new FileTemplateDescriptor(templateDescriptor.getFilename()), templateDescriptor.getLanguage(), project,
+                testSubject.targetClassName, testSubject.srcPackage, testSubject.srcModule, testSubject.testModule, testSubject.targetDirectory, testSubject.psiClass,
+                fileTemplateConfig, new FileTemplateCustomization(new ArrayList<>(), new ArrayList<>(), false), null, null));
+        }
+        return contexts;
+    }
+
+    private static class TestSubject {
+        private final PsiClass psiClass;
+        private final PsiPackage srcPackage;
+        private final Module srcModule;
+        private final Module testModule;
+        private final VirtualFile testRoot;
+        private final String targetClassName;
+        private PsiDirectory targetDirectory;
+
+        private TestSubject(PsiClass psiClass, PsiPackage srcPackage, Module srcModule, Module testModule, VirtualFile testRoot, String targetClassName) {
+            this.psiClass = psiClass;
+            this.srcPackage = srcPackage;
+            this.srcModule = srcModule;
+            this.testModule = testModule;
+            this.testRoot = testRoot;
+            this.targetClassName = targetClassName;
+        }
+    }
+}
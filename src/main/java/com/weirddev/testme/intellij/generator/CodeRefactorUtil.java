@@ -9,12 +9,13 @@ import com.intellij.psi.*;
 import com.intellij.psi.impl.PsiElementFactoryImpl;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
+import com.weirddev.testme.intellij.common.reflection.MethodHandleCache;
 import com.weirddev.testme.intellij.common.utils.LanguageUtils;
 import com.weirddev.testme.intellij.scala.resolvers.ScalaPsiRefactoringUtils;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.util.Collection;
 
 public class CodeRefactorUtil {
@@ -63,10 +64,10 @@ public class CodeRefactorUtil {
         //The reflective version - not dependant on plugin existence:
         PsiElement newImport = null;
         try {
-            final Class<?> aClass = Class.forName("org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElementFactory");
-            final Object service = ServiceManager.getService(project, aClass);
-            if (service != null && aClass.isAssignableFrom(service.getClass())) {
-                final Method method = aClass.getMethod("createImportStatementFromText", String.class);
+            final Class<?> aClass = MethodHandleCache.findClass("org.jetbrains.plugins.groovy.lang.psi.GroovyPsiElementFactory", CodeRefactorUtil.class.getClassLoader());
+            final Object service = aClass == null ? null : ServiceManager.getService(project, aClass);
+            final MethodHandle method = service == null ? null : MethodHandleCache.findPublicMethod(aClass, "createImportStatementFromText", String.class);
+            if (method != null && aClass.isAssignableFrom(service.getClass())) {
                 final Object psiImport = method.invoke(service, unCommentedImport);
                 if (psiImport instanceof PsiElement) {
                     newImport=(PsiElement) psiImport;
@@ -5,10 +5,16 @@ import com.intellij.codeInsight.CodeInsightUtil;
 import com.intellij.codeInsight.FileModificationService;
 import com.intellij.ide.fileTemplates.FileTemplate;
 import com.intellij.ide.fileTemplates.FileTemplateManager;
-import com.intellij.ide.fileTemplates.FileTemplateUtil;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.command.CommandProcessor;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.fileEditor.ex.IdeDocumentHistory;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.util.Computable;
@@ -22,11 +28,14 @@ import com.intellij.psi.search.GlobalSearchScopesCore;
 import com.intellij.testIntegration.createTest.JavaTestGenerator;
 import com.intellij.util.IncorrectOperationException;
 import com.weirddev.testme.intellij.builder.MethodReferencesBuilder;
+import com.weirddev.testme.intellij.diagnostics.GenerationMetrics;
+import com.weirddev.testme.intellij.diagnostics.GenerationMetricsService;
 import com.weirddev.testme.intellij.template.FileTemplateContext;
 import com.weirddev.testme.intellij.ui.template.TestMeTemplateManager;
+import com.weirddev.testme.intellij.utils.MergedTestTemplate;
 import com.weirddev.testme.intellij.utils.TestFileTemplateUtil;
 import com.weirddev.testme.intellij.utils.TestFileUpdateUtil;
-import org.apache.velocity.app.Velocity;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Date;
@@ -54,7 +63,50 @@ public class TestMeGenerator {
         this.codeRefactorUtil = codeRefactorUtil;
     }
 
+    /**
+     * generate test in the calling thread. expected to be called from EDT within a command
+     */
     public PsiElement generateTest(final FileTemplateContext context) {
+        final MergedTestTemplate mergedTemplate = ReadAction.compute(() -> mergeTestTemplate(context));
+        return generateTest(context, mergedTemplate);
+    }
+
+    /**
+     * resolve test subject and merge test template in a cancellable background read action, then create the test file on EDT
+     */
+    public void generateTestInBackground(final FileTemplateContext context) {
+        final Project project = context.getProject();
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "TestMe: generating " + context.getTargetClass(), true) {
+            private MergedTestTemplate mergedTemplate;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                indicator.setText("Resolving " + context.getTargetClass() + " test context");
+                mergedTemplate = ReadAction.nonBlocking(() -> mergeTestTemplate(context))
+                    .inSmartMode(project)
+                    .expireWith(project)
+                    .executeSynchronously();
+            }
+
+            @Override
+            public void onSuccess() {
+                CommandProcessor.getInstance().executeCommand(project, () -> generateTest(context, mergedTemplate), "TestMe Generate Test", null);
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                LOG.error("error generating test class", error);
+                showErrorLater(project, context.getTargetClass());
+            }
+        });
+    }
+
+    /**
+     * create test file from a merged test template. runs a short write action
+     * @param mergedTemplate merged test template. null - when the test class already exists or template could not be merged
+     */
+    public PsiElement generateTest(final FileTemplateContext context, @Nullable final MergedTestTemplate mergedTemplate) {
         final Project project = context.getProject();
         return PostprocessReformattingAspect.getInstance(project).postponeFormattingInside(new Computable<PsiElement>() {
             public PsiElement compute() {
@@ -63,7 +115,7 @@ public class TestMeGenerator {
                         try {
                             final long start = new Date().getTime();
                             IdeDocumentHistory.getInstance(project).includeCurrentPlaceAsChangePlace();
-                            PsiFile targetClass = createTestClass(context);
+                            PsiFile targetClass = createTestClass(context, mergedTemplate);
                             if (targetClass == null) {
                                 return null;
                             }
@@ -93,75 +145,173 @@ public class TestMeGenerator {
         });
     }
 
+    /**
+     * create test file from a merged test template without navigating to it. unlike interactive generation, never falls back to an empty test class.
+     * expected to be called within a write command
+     * @return created test file. null if the test class already exists
+     * @throws Exception when the test file could not be created from the merged test template
+     */
     @Nullable
-    private PsiFile createTestClass(FileTemplateContext context) {
+    public PsiFile createTestFile(final FileTemplateContext context, @NotNull final MergedTestTemplate mergedTemplate) throws Exception {
+        return WriteAction.compute(() -> {
+            if (findExistingTestClass(context) != null) {
+                return null;
+            }
+            boolean created = false;
+            try {
+                final PsiFile testFile = createTestClassFromMergedTemplate(context, context.getTargetDirectory(), mergedTemplate);
+                if (testFile == null) {
+                    throw new IncorrectOperationException("no test file created from template " + mergedTemplate.getTemplate().getName());
+                }
+                created = true;
+                return testFile;
+            } finally {
+                if (!created) {
+                    context.getGenerationMetrics().markFailed();
+                }
+                GenerationMetricsService.getInstance(context.getProject()).record(context.getGenerationMetrics());
+            }
+        });
+    }
+
+    /**
+     * Read phase of test generation - build test template context and merge the test template. expected to be called in a read action.
+     * template errors are logged as IDE errors
+     * @return merged test template or null if test class already exists or template could not be merged
+     */
+    @Nullable
+    public MergedTestTemplate mergeTestTemplate(FileTemplateContext context) {
+        try {
+            return mergeNewTestTemplate(context);
+        } catch (ProcessCanceledException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("error generating test class",e);
+            return null;
+        }
+    }
+
+    /**
+     * Read phase of test generation, for callers reporting template errors themselves. expected to be called in a read action.
+     * metrics are started over on each call, so only the attempt completing the generation is recorded once a cancelled read action is restarted
+     * @return merged test template or null if test class already exists
+     * @throws Exception when the test template could not be merged
+     */
+    @Nullable
+    public MergedTestTemplate mergeNewTestTemplate(FileTemplateContext context) throws Exception {
+        if (!context.isCreateTestForSelectMethod() && findExistingTestClass(context) != null) {
+            return null;
+        }
+        context.startGenerationMetrics();
+        final PsiDirectory targetDirectory = context.getTargetDirectory();
+        final String templateName = context.getFileTemplateDescriptor().getFileName();
+        FileTemplateManager fileTemplateManager = TestMeTemplateManager.getInstance(targetDirectory.getProject());
+        final long allocatedBytesBefore = GenerationMetrics.currentThreadAllocatedBytes();
+        MergedTestTemplate mergedTemplate = null;
+        boolean cancelled = false;
+        try {
+            Map<String, Object> templateCtxtParams = testTemplateContextBuilder.build(context, fileTemplateManager.getDefaultProperties());
+            FileTemplate codeTemplate = fileTemplateManager.getInternalTemplate(templateName);
+            codeTemplate.setReformatCode(false);
+            final long startGeneration = new Date().getTime();
+            mergedTemplate = TestFileTemplateUtil.mergeTemplate(codeTemplate, context, templateCtxtParams, targetDirectory, null);
+            final long mergeMillis = new Date().getTime() - startGeneration;
+            context.getGenerationMetrics().addPhaseTime(GenerationMetrics.TEMPLATE_RENDER, mergeMillis);
+            if (allocatedBytesBefore >= 0) {
+                // type graph members are resolved lazily while rendering, so allocations are measured up to here
+                context.getGenerationMetrics().addCounter(GenerationMetrics.ALLOCATED_KB, (GenerationMetrics.currentThreadAllocatedBytes() - allocatedBytesBefore) / 1024);
+            }
+            LOG.debug("Done merging template "+codeTemplate.getName()+" in "+mergeMillis+" millis");
+            return mergedTemplate;
+        } catch (ProcessCanceledException e) {
+            cancelled = true;
+            throw e;
+        } finally {
+            if (mergedTemplate == null && !cancelled) {
+                // successful generations are recorded once the test file is created. cancelled ones are usually restarted
+                context.getGenerationMetrics().markFailed();
+                GenerationMetricsService.getInstance(context.getProject()).record(context.getGenerationMetrics());
+            }
+        }
+    }
+
+    @Nullable
+    private PsiClass findExistingTestClass(FileTemplateContext context) {
         final PsiDirectory targetDirectory = context.getTargetDirectory();
         final PsiPackage aPackage = JavaDirectoryService.getInstance().getPackage(targetDirectory);
         if (aPackage != null) {
             final GlobalSearchScope scope = GlobalSearchScopesCore.directoryScope(targetDirectory, false);
             final PsiClass[] classes = aPackage.findClassByShortName(context.getTargetClass(), scope);
-            if (!context.isCreateTestForSelectMethod() && classes.length > 0) {
-                if (!FileModificationService.getInstance().preparePsiElementForWrite(classes[0])) {
+            if (classes.length > 0) {
+                return classes[0];
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private PsiFile createTestClass(FileTemplateContext context, @Nullable MergedTestTemplate mergedTemplate) {
+        final PsiDirectory targetDirectory = context.getTargetDirectory();
+        if (!context.isCreateTestForSelectMethod()) {
+            final PsiClass existingTestClass = findExistingTestClass(context);
+            if (existingTestClass != null) {
+                if (!FileModificationService.getInstance().preparePsiElementForWrite(existingTestClass)) {
                     return null;
                 }
-                return classes[0].getContainingFile();
+                return existingTestClass.getContainingFile();
+            }
+        }
+        PsiFile classFromTemplate = null;
+        if (mergedTemplate != null) {
+            try {
+                classFromTemplate = createTestClassFromMergedTemplate(context, targetDirectory, mergedTemplate);
+            } catch (Exception e) {
+                LOG.error("error generating test class",e);
             }
         }
-        final PsiFile classFromTemplate = createTestClassFromCodeTemplate(context, targetDirectory);
         if (classFromTemplate != null) {
+            GenerationMetricsService.getInstance(context.getProject()).record(context.getGenerationMetrics());
             return classFromTemplate;
         }
         return JavaDirectoryService.getInstance().createClass(targetDirectory, context.getTargetClass()).getContainingFile();
     }
 
-    private PsiFile createTestClassFromCodeTemplate(final FileTemplateContext context, final PsiDirectory targetDirectory) {
-        final String templateName = context.getFileTemplateDescriptor().getFileName();
-        FileTemplateManager fileTemplateManager = TestMeTemplateManager.getInstance(targetDirectory.getProject());
-        Map<String, Object> templateCtxtParams = testTemplateContextBuilder.build(context, fileTemplateManager.getDefaultProperties());
-        try {
-            FileTemplate codeTemplate = fileTemplateManager.getInternalTemplate(templateName);
-            codeTemplate.setReformatCode(false);
-            Velocity.setProperty( Velocity.VM_MAX_DEPTH, 200);
-            final long startGeneration = new Date().getTime();
-            VelocityInitializer.verifyRuntimeSetup();
-            
-            PsiFile psiFile;
-            if (context.isCreateTestForSelectMethod() && context.isHasTestFile()) {
-                // create new test psi file for selected method without io write
-                final PsiFile psiElement = TestFileTemplateUtil.createFromTemplate(codeTemplate,
-                    context, templateCtxtParams, targetDirectory, null);
-                psiFile = TestFileUpdateUtil.updateTestFile(context, psiElement);
-            } else {
-                // create new test psi file with io write
-                final PsiElement psiElement = FileTemplateUtil.createFromTemplate(codeTemplate,
-                    context.getTargetClass(), templateCtxtParams, targetDirectory, null);
-                final PsiElement resolvedPsiElement = resolveEmbeddedClass(psiElement);
-                psiFile = resolvedPsiElement instanceof PsiFile ? (PsiFile)resolvedPsiElement
-                    : resolvedPsiElement.getContainingFile();
-            }
+    private PsiFile createTestClassFromMergedTemplate(final FileTemplateContext context, final PsiDirectory targetDirectory, MergedTestTemplate mergedTemplate) throws Exception {
+        final long startGeneration = new Date().getTime();
+        PsiFile psiFile;
+        if (context.isCreateTestForSelectMethod() && context.isHasTestFile()) {
+            // create new test psi file for selected method without io write
+            final PsiFile psiElement = TestFileTemplateUtil.createFromMergedTemplate(context, mergedTemplate);
+            psiFile = TestFileUpdateUtil.updateTestFile(context, psiElement);
+        } else {
+            // create new test psi file with io write
+            final PsiElement psiElement = TestFileTemplateUtil.createInDirectoryFromMergedTemplate(mergedTemplate, targetDirectory);
+            final PsiElement resolvedPsiElement = resolveEmbeddedClass(psiElement);
+            psiFile = resolvedPsiElement instanceof PsiFile ? (PsiFile)resolvedPsiElement
+                : resolvedPsiElement.getContainingFile();
+        }
 
-            LOG.debug("Done generating PsiElement from template "+codeTemplate.getName()+" in "+(new Date().getTime()-startGeneration)+" millis");
-            final long startReformating = new Date().getTime();
+        final GenerationMetrics metrics = context.getGenerationMetrics();
+        final long psiCreationMillis = new Date().getTime() - startGeneration;
+        metrics.addPhaseTime(GenerationMetrics.PSI_CREATION, psiCreationMillis);
+        LOG.debug("Done generating PsiElement from template "+mergedTemplate.getTemplate().getName()+" in "+psiCreationMillis+" millis");
+        final long startReformating = new Date().getTime();
 
-            JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(targetDirectory.getProject());
-            if (context.getFileTemplateConfig().isOptimizeImports()) {
-                codeStyleManager.optimizeImports(psiFile);
-            }
-            if (context.getFileTemplateConfig().isReplaceFqn()) {
-                codeStyleManager.shortenClassReferences(psiFile);
-            }
-            codeRefactorUtil.uncommentImports(psiFile, context.getProject());
-            if (context.getFileTemplateConfig().isReformatCode()) {
-                final PsiFile containingFile = psiFile;
-                final TextRange textRange = containingFile.getTextRange();
-                CodeStyleManager.getInstance(context.getProject()).reformatText(containingFile, textRange.getStartOffset(), textRange.getEndOffset());
-            }
-            LOG.debug("Done reformatting generated PsiClass in "+(new Date().getTime()-startReformating)+" millis");
-            return psiFile;
-        } catch (Exception e) {
-            LOG.error("error generating test class",e);
-            return null;
+        JavaCodeStyleManager codeStyleManager = JavaCodeStyleManager.getInstance(targetDirectory.getProject());
+        final PsiFile testFile = psiFile;
+        if (context.getFileTemplateConfig().isOptimizeImports()) {
+            metrics.measure(GenerationMetrics.OPTIMIZE_IMPORTS, () -> codeStyleManager.optimizeImports(testFile));
+        }
+        if (context.getFileTemplateConfig().isReplaceFqn()) {
+            metrics.measure(GenerationMetrics.SHORTEN_REFERENCES, () -> codeStyleManager.shortenClassReferences(testFile));
+        }
+        codeRefactorUtil.uncommentImports(psiFile, context.getProject());
+        if (context.getFileTemplateConfig().isReformatCode()) {
+            final TextRange textRange = testFile.getTextRange();
+            metrics.measure(GenerationMetrics.REFORMAT, () -> CodeStyleManager.getInstance(context.getProject()).reformatText(testFile, textRange.getStartOffset(), textRange.getEndOffset()));
         }
+        LOG.debug("Done reformatting generated PsiClass in "+(new Date().getTime()-startReformating)+" millis");
+        return psiFile;
     }
 
     //    private void flushOperations(FileTemplateContext context, PsiClass psiClass) {
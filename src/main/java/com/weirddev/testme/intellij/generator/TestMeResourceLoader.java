@@ -12,13 +12,31 @@ import java.io.StringReader;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+/**
+ * Loads TestMe includes and compiled test templates. Loaded resources are cached by velocity.
+ * Includes are reloaded once TestMe templates have been saved, compiled test templates are named by content so never modified
+ *
+ * @see TestTemplateCompilationCache
+ */
 public class TestMeResourceLoader extends ResourceLoader {
+    /**
+     * seconds between checks of a cached include for modifications
+     */
+    private static final long MODIFICATION_CHECK_INTERVAL = 1;
+
     @Override
     public void init(ExtProperties extProperties) {
     }
 
     @Override
     public Reader getResourceReader(String source, String encoding) throws ResourceNotFoundException {
+        if (TestTemplateCompilationCache.isCompiledTemplate(source)) {
+            final String compiledTemplateText = TestTemplateCompilationCache.findCompiledTemplateText(source);
+            if (compiledTemplateText == null) {
+                throw new ResourceNotFoundException("Template not found: " + source);
+            }
+            return new StringReader(compiledTemplateText);
+        }
         TestMeTemplateManager fileTemplateManager = TestMeTemplateManager.getDefaultInstance();
         FileTemplate[] allPatterns = fileTemplateManager.getAllPatterns();
         Optional<FileTemplate> optTemplate = Stream.of(allPatterns).filter(t -> source.equals(t.getName() + "." + t.getExtension())).findAny();
@@ -26,13 +44,24 @@ public class TestMeResourceLoader extends ResourceLoader {
         final String text = include.getText();
         return new StringReader(text);
     }
+
     @Override
-    public boolean isSourceModified(Resource resource) {
+    public boolean isCachingOn() {
         return true;
     }
+
+    @Override
+    public long getModificationCheckInterval() {
+        return MODIFICATION_CHECK_INTERVAL;
+    }
+
+    @Override
+    public boolean isSourceModified(Resource resource) {
+        return !TestTemplateCompilationCache.isCompiledTemplate(resource.getName()) && resource.getLastModified() != getLastModified(resource);
+    }
     @Override
     public long getLastModified(Resource resource) {
-        return 0L;
+        return TestTemplateCompilationCache.isCompiledTemplate(resource.getName()) ? 0L : TestTemplateCompilationCache.getIncludesModificationStamp();
     }
 //            @Override
 //            public InputStream getResourceStream(String resourceName) throws ResourceNotFoundException {
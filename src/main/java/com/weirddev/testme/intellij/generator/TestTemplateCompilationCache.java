@@ -0,0 +1,130 @@
+package com.weirddev.testme.intellij.generator;
+
+import com.intellij.ide.fileTemplates.FileTemplate;
+import com.intellij.ide.fileTemplates.FileTemplateUtil;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import org.apache.velocity.app.Velocity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps test templates compiled by the velocity runtime between test generations.
+ * A test template is merged by including it as a TestMe resource, named after its content hash, so velocity parses each version of a template once
+ * and keeps its AST in the velocity resource cache. TestMe includes and their macros are cached the same way, and reloaded once TestMe templates have been saved.
+ * Texts and attributes of compiled templates are kept for a bounded number of template versions, and dropped once templates are saved or plugins are loaded or unloaded.
+ *
+ * @see TestMeResourceLoader
+ */
+public class TestTemplateCompilationCache {
+    private static final Logger LOG = Logger.getInstance(TestTemplateCompilationCache.class.getName());
+    private static final String COMPILED_TEMPLATE_PREFIX = "testMeCompiled/";
+    private static final int VM_MAX_DEPTH = 200;
+    private static final int MAX_COMPILED_TEMPLATES = 50;
+    private static final int MAX_TEMPLATES_ATTRIBUTES = 200;
+    private static final Map<String, String> compiledTemplatesTexts = boundedMap(MAX_COMPILED_TEMPLATES);
+    private static final Map<String, String[]> templatesAttributes = boundedMap(MAX_TEMPLATES_ATTRIBUTES);
+    private static final AtomicLong includesModificationStamp = new AtomicLong(1);
+    private static volatile boolean runtimeInitialized;
+
+    /**
+     * one time setup of the velocity runtime for merging test templates
+     */
+    public static void initRuntime() {
+        if (!runtimeInitialized) {
+            synchronized (TestTemplateCompilationCache.class) {
+                if (!runtimeInitialized) {
+                    Velocity.setProperty(Velocity.VM_MAX_DEPTH, VM_MAX_DEPTH);
+                    VelocityInitializer.verifyRuntimeSetup();
+                    runtimeInitialized = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * merges template with given attributes. same as {@link FileTemplate#getText(Map)}, without re-parsing an already compiled template
+     */
+    public static String mergeTemplate(@NotNull FileTemplate template, @NotNull Map<String, Object> attributes) {
+        initRuntime();
+        return FileTemplateUtil.mergeTemplate(attributes, "#parse('" + compile(template) + "')", false);
+    }
+
+    /**
+     * same as {@link FileTemplateUtil#calculateAttributes(String, Map, boolean, Project)} including dummies, calculated once per template content and defined attributes
+     */
+    public static String[] calculateAttributes(@NotNull FileTemplate template, @NotNull Map<String, Object> attributes, @NotNull Project project) throws Exception {
+        final String templateText = template.getText();
+        final String key = resolveResourceName(template.getName(), templateText) + "|" + String.join(",", new TreeSet<>(attributes.keySet()));
+        String[] calculatedAttributes = templatesAttributes.get(key);
+        if (calculatedAttributes == null) {
+            calculatedAttributes = FileTemplateUtil.calculateAttributes(templateText, attributes, true, project);
+            templatesAttributes.put(key, calculatedAttributes);
+        }
+        return calculatedAttributes.clone();
+    }
+
+    /**
+     * reloads TestMe includes on their next use. to be called once TestMe templates have been saved
+     */
+    private static void invalidateIncludes() {
+        LOG.debug("invalidating compiled TestMe includes");
+        includesModificationStamp.incrementAndGet();
+    }
+
+    /**
+     * drops texts and attributes of compiled templates, and reloads TestMe includes on their next use. templates in use are compiled again when merged
+     */
+    public static void clear() {
+        invalidateIncludes();
+        compiledTemplatesTexts.clear();
+        templatesAttributes.clear();
+    }
+
+    static long getIncludesModificationStamp() {
+        return includesModificationStamp.get();
+    }
+
+    static boolean isCompiledTemplate(String resourceName) {
+        return resourceName.startsWith(COMPILED_TEMPLATE_PREFIX);
+    }
+
+    @Nullable
+    static String findCompiledTemplateText(String resourceName) {
+        return compiledTemplatesTexts.get(resourceName);
+    }
+
+    private static String compile(FileTemplate template) {
+        final String templateText = template.getText();
+        final String resourceName = resolveResourceName(template.getName(), templateText);
+        compiledTemplatesTexts.putIfAbsent(resourceName, templateText);
+        return resourceName;
+    }
+
+    private static <V> Map<String, V> boundedMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private static String resolveResourceName(String templateName, String templateText) {
+        return COMPILED_TEMPLATE_PREFIX + templateName.replaceAll("[^\\w .&,-]", "_") + "/" + hash(templateText);
+    }
+
+    private static String hash(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,25 +1,24 @@
 package com.weirddev.testme.intellij.generator;
 
 import com.intellij.openapi.diagnostic.Logger;
-import com.intellij.openapi.module.Module;
-import com.intellij.openapi.module.impl.scopes.ModuleWithDependenciesScope;
-import com.intellij.openapi.projectRoots.Sdk;
-import com.intellij.openapi.roots.ModuleRootManager;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.lang.JavaVersion;
 import com.weirddev.testme.intellij.builder.MethodReferencesBuilder;
+import com.weirddev.testme.intellij.cache.InheritorsCache;
+import com.weirddev.testme.intellij.cache.LibraryTypeSummaryCache;
+import com.weirddev.testme.intellij.cache.TestToolchainProfile;
+import com.weirddev.testme.intellij.cache.TestToolchainProfileCache;
+import com.weirddev.testme.intellij.cache.TypeGraphCache;
+import com.weirddev.testme.intellij.diagnostics.GenerationMetrics;
 import com.weirddev.testme.intellij.template.FileTemplateContext;
 import com.weirddev.testme.intellij.template.TypeDictionary;
+import com.weirddev.testme.intellij.template.TypeGraphBudget;
 import com.weirddev.testme.intellij.template.context.*;
 import com.weirddev.testme.intellij.template.context.impl.TestBuilderImpl;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Date: 20/11/2016
@@ -46,56 +45,47 @@ public class TestTemplateContextBuilder {
         int maxRecursionDepth = context.getFileTemplateConfig().getMaxRecursionDepth();
         ctxtParams.put(TestMeTemplateParams.MAX_RECURSION_DEPTH, maxRecursionDepth);
         ctxtParams.put(TestMeTemplateParams.StringUtils, new StringUtils());
-        final TypeDictionary typeDictionary = TypeDictionary.create(context.getSrcClass(), context.getTargetPackage(),context.getFileTemplateConfig().isThrowSpecificExceptionTypes());
-        JavaVersion javaVersion = getJavaVersion(context.getTestModule());
+        final GenerationMetrics metrics = context.getGenerationMetrics();
+        final TypeGraphCache typeGraphCache = TypeGraphCache.getInstance(context.getProject());
+        final TypeDictionary typeDictionary = metrics.measure(GenerationMetrics.TYPE_GRAPH, () -> typeGraphCache.getTypeDictionary(context.getSrcClass(), context.getTargetPackage(), maxRecursionDepth, context.getFileTemplateConfig().isThrowSpecificExceptionTypes(), TypeGraphBudget.of(context.getFileTemplateConfig()), context.getTestedMethodIds()));
+        metrics.setCacheStats(GenerationMetrics.TYPE_GRAPH_CACHE, typeGraphCache.getUsageStats());
+        metrics.addCollector(typeDictionary.startGenerationMetrics());
+        final InheritorsCache inheritorsCache = InheritorsCache.getInstance(context.getProject());
+        metrics.addCollector(generationMetrics -> generationMetrics.setCacheStats(GenerationMetrics.INHERITORS_CACHE, inheritorsCache.getUsageStats()));
+        final LibraryTypeSummaryCache libraryTypeSummaryCache = LibraryTypeSummaryCache.getInstance();
+        metrics.addCollector(generationMetrics -> generationMetrics.setCacheStats(GenerationMetrics.LIBRARY_TYPE_SUMMARIES_CACHE, libraryTypeSummaryCache.getUsageStats()));
+        final TestToolchainProfileCache toolchainProfileCache = TestToolchainProfileCache.getInstance(context.getProject());
+        final TestToolchainProfile toolchainProfile = toolchainProfileCache.getProfile(context.getTestModule());
+        metrics.setCacheStats(GenerationMetrics.TOOLCHAIN_PROFILE_CACHE, toolchainProfileCache.getUsageStats());
+        JavaVersion javaVersion = toolchainProfile.getJavaVersion();
         ctxtParams.put(TestMeTemplateParams.JAVA_VERSION, javaVersion);
         ctxtParams.put(TestMeTemplateParams.TestBuilder, new TestBuilderImpl(context.getLanguage(), context.getSrcModule(), typeDictionary, context.getFileTemplateConfig(), javaVersion));
         final PsiClass targetClass = context.getSrcClass();
         if (targetClass != null && targetClass.isValid()) {
             ctxtParams.put(TestMeTemplateParams.TESTED_CLASS_LANGUAGE, targetClass.getLanguage().getID());
-            final Type type = typeDictionary.getType(Type.resolveType(targetClass), maxRecursionDepth, true);
+            final Type type = metrics.measure(GenerationMetrics.TYPE_GRAPH, () -> {
+                typeDictionary.startBudget(maxRecursionDepth);
+                return typeDictionary.getType(Type.resolveType(targetClass), maxRecursionDepth, true);
+            });
             typeDictionary.logStatistics();
             ctxtParams.put(TestMeTemplateParams.TESTED_CLASS, type);
             if (type != null) {
-                methodReferencesBuilder.resolveMethodReferences(maxRecursionDepth, type.getMethods());
+                metrics.measure(GenerationMetrics.METHOD_REFERENCES, () -> methodReferencesBuilder.resolveMethodReferences(maxRecursionDepth, type.getMethods()));
             }
         }
         final TestSubjectInspector testSubjectInspector =
             new TestSubjectInspector(context.getFileTemplateConfig().isGenerateTestsForInheritedMethods(),
                 context.getFileTemplateCustomization());
         ctxtParams.put(TestMeTemplateParams.TestSubjectUtils, testSubjectInspector);
-        List<String> classpathJars = resolveClasspathJars(context);
-        ctxtParams.put(TestMeTemplateParams.MockitoMockBuilder, mockBuilderFactory.createMockitoMockBuilder(context, testSubjectInspector, classpathJars));
-        ctxtParams.put(TestMeTemplateParams.PowerMockBuilder, mockBuilderFactory.createPowerMockBuilder(context, testSubjectInspector, classpathJars));
-        ctxtParams.put(TestMeTemplateParams.TestedClasspathJars, classpathJars);
+        metrics.measure(GenerationMetrics.MOCK_BUILDERS, () -> {
+            ctxtParams.put(TestMeTemplateParams.MockitoMockBuilder, mockBuilderFactory.createMockitoMockBuilder(context, testSubjectInspector, toolchainProfile));
+            ctxtParams.put(TestMeTemplateParams.PowerMockBuilder, mockBuilderFactory.createPowerMockBuilder(context, testSubjectInspector, toolchainProfile));
+            ctxtParams.put(TestMeTemplateParams.TestedClasspathJars, toolchainProfile.getClasspathJars());
+        });
         logger.debug("Done building Test Template context in "+(new Date().getTime()-start)+" millis");
         return ctxtParams;
     }
 
-    @NotNull
-    private List<String> resolveClasspathJars(FileTemplateContext context) {
-        GlobalSearchScope searchScope = context.getTestModule().getModuleWithDependenciesAndLibrariesScope(true);
-        if (searchScope instanceof ModuleWithDependenciesScope) {
-            ModuleWithDependenciesScope moduleWithDependenciesScope = (ModuleWithDependenciesScope) searchScope;
-            return moduleWithDependenciesScope.getRoots().stream().map(VirtualFile::getName).filter(name -> name.endsWith(".jar")).collect(Collectors.toList());
-        }
-        else {
-            return List.of();
-        }
-    }
-
-    @Nullable
-    private JavaVersion getJavaVersion(Module testModule) {
-        ModuleRootManager moduleRootManager = ModuleRootManager.getInstance(testModule);
-        Sdk sdk = moduleRootManager.getSdk();
-        if (sdk != null && sdk.getSdkType().getName().toLowerCase().contains("java")) {
-            return JavaVersion.tryParse(sdk.getVersionString());
-        }
-        else {
-            return null;
-        }
-    }
-
     void populateDateFields(Map<String, Object> ctxtParams, Calendar calendar) {
         ctxtParams.put(TestMeTemplateParams.MONTH_NAME_EN, new SimpleDateFormat("MMMM", Locale.ENGLISH).format(calendar.getTime()));
         ctxtParams.put(TestMeTemplateParams.DAY_NUMERIC, calendar.get(Calendar.DAY_OF_MONTH));
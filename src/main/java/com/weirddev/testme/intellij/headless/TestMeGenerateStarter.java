@@ -0,0 +1,170 @@
+package com.weirddev.testme.intellij.headless;
+
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.ex.ApplicationManagerEx;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiPackage;
+import com.weirddev.testme.intellij.generator.BulkGenerationReport;
+import com.weirddev.testme.intellij.generator.BulkTestMeGenerator;
+import com.weirddev.testme.intellij.template.TemplateDescriptor;
+import com.weirddev.testme.intellij.ui.template.TestMeTemplateManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jps.model.java.JavaSourceRootType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Headless test generation from the command line:
+ * <pre>idea.sh testme-generate &lt;project path&gt; &lt;scope&gt; &lt;template&gt; [report file]</pre>
+ * scope - comma separated module names, package names or directories. template - file or display name of a TestMe test template.
+ * Generates tests for all test subjects in scope with {@link BulkTestMeGenerator}, once the project has been indexed,
+ * and writes a json report with the outcome and generation time of each class to the report file, or to the standard output.
+ * Exits the application with 0 when all test subjects were generated or skipped, 1 when some failed - including test templates that could not be rendered,
+ * and 2 on invalid arguments.
+ */
+public class TestMeGenerateStarter implements ApplicationStarter {
+    private static final Logger LOG = Logger.getInstance(TestMeGenerateStarter.class.getName());
+    private static final String USAGE = "usage: testme-generate <project path> <scope> <template> [report file]";
+    private static final int EXIT_INVALID_ARGUMENTS = 2;
+    private static final int EXIT_FAILED = 1;
+
+    @Override
+    public int getRequiredModality() {
+        return NOT_IN_EDT;
+    }
+
+    @Override
+    public boolean isHeadless() {
+        return true;
+    }
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        final int exitCode = generate(args);
+        ApplicationManagerEx.getApplicationEx().exit(true, true, exitCode);
+    }
+
+    private int generate(List<String> args) {
+        if (args.size() < 4 || args.size() > 5) {
+            System.err.println(USAGE);
+            return EXIT_INVALID_ARGUMENTS;
+        }
+        final Path projectPath = Path.of(args.get(1)).toAbsolutePath().normalize();
+        final Project project = ProjectUtil.openOrImport(projectPath, null, true);
+        if (project == null) {
+            System.err.println("could not open project " + projectPath);
+            return EXIT_INVALID_ARGUMENTS;
+        }
+        try {
+            DumbService.getInstance(project).waitForSmartMode();
+            final TemplateDescriptor templateDescriptor = findTemplate(project, args.get(3));
+            if (templateDescriptor == null) {
+                System.err.println("unknown template " + args.get(3) + ". enabled templates: " + enabledTemplateNames(project));
+                return EXIT_INVALID_ARGUMENTS;
+            }
+            final List<PsiElement> roots = ReadAction.compute(() -> resolveRoots(project, projectPath, args.get(2)));
+            if (roots.isEmpty()) {
+                System.err.println("no modules, packages or directories found for scope " + args.get(2));
+                return EXIT_INVALID_ARGUMENTS;
+            }
+            final ProgressIndicator indicator = new EmptyProgressIndicator();
+            final BulkGenerationReport report = ProgressManager.getInstance().runProcess(() -> new BulkTestMeGenerator().generate(project, templateDescriptor, roots, indicator), indicator);
+            ApplicationManager.getApplication().invokeAndWait(() -> FileDocumentManager.getInstance().saveAllDocuments());
+            LOG.info("Done headless test generation. " + report);
+            writeReport(report, args.size() == 5 ? Path.of(args.get(4)) : null);
+            return exitCode(report);
+        } catch (IOException e) {
+            LOG.warn("error writing test generation report", e);
+            System.err.println("could not write report: " + e.getMessage());
+            return EXIT_FAILED;
+        } finally {
+            ApplicationManager.getApplication().invokeAndWait(() -> ProjectManager.getInstance().closeAndDispose(project));
+        }
+    }
+
+    static int exitCode(BulkGenerationReport report) {
+        return report.getFailed() > 0 ? EXIT_FAILED : 0;
+    }
+
+    @Nullable
+    private static TemplateDescriptor findTemplate(Project project, String template) {
+        for (TemplateDescriptor templateDescriptor : TestMeTemplateManager.getInstance(project).getTestTemplates()) {
+            if (templateDescriptor.isEnabled() && (template.equalsIgnoreCase(templateDescriptor.getFilename()) || template.equalsIgnoreCase(templateDescriptor.getDisplayName()))) {
+                return templateDescriptor;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> enabledTemplateNames(Project project) {
+        return TestMeTemplateManager.getInstance(project).getTestTemplates().stream().filter(TemplateDescriptor::isEnabled).map(TemplateDescriptor::getFilename).toList();
+    }
+
+    private static List<PsiElement> resolveRoots(Project project, Path projectPath, String scope) {
+        final List<PsiElement> roots = new ArrayList<>();
+        final PsiManager psiManager = PsiManager.getInstance(project);
+        for (String scopeEntry : scope.split(",")) {
+            final String name = scopeEntry.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            final Module module = ModuleManager.getInstance(project).findModuleByName(name);
+            if (module != null) {
+                for (VirtualFile sourceRoot : ModuleRootManager.getInstance(module).getSourceRoots(JavaSourceRootType.SOURCE)) {
+                    final PsiDirectory directory = psiManager.findDirectory(sourceRoot);
+                    if (directory != null) {
+                        roots.add(directory);
+                    }
+                }
+                continue;
+            }
+            final VirtualFile directoryFile = LocalFileSystem.getInstance().findFileByNioFile(projectPath.resolve(name).normalize());
+            final PsiDirectory directory = directoryFile == null || !directoryFile.isDirectory() ? null : psiManager.findDirectory(directoryFile);
+            if (directory != null) {
+                roots.add(directory);
+                continue;
+            }
+            final PsiPackage psiPackage = JavaPsiFacade.getInstance(project).findPackage(name);
+            if (psiPackage != null) {
+                roots.add(psiPackage);
+            } else {
+                LOG.warn("scope " + name + " is neither a module, a directory nor a package");
+            }
+        }
+        return roots;
+    }
+
+    private static void writeReport(BulkGenerationReport report, @Nullable Path reportFile) throws IOException {
+        final String json = report.toJson();
+        if (reportFile == null) {
+            System.out.println(json);
+        } else {
+            Files.writeString(reportFile, json + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -97,6 +97,19 @@ public class FileTemplateConfig {
      * Default:false
      */
     private boolean throwSpecificExceptionTypes = false;
+    /**
+     * Test parameters generator optimization. Time budget for resolving the type graph of the tested class. Once passed, types not yet resolved are left without members, so they are initialized as null.
+     * Types closer to the tested class are resolved first, so a higher maxRecursionDepth only deepens the type graph as far as the budget allows.
+     * Valid values:0-60000. 0 - no time budget
+     * Default:0
+     */
+    private long typeGraphTimeBudgetMillis = 0;
+    /**
+     * Test parameters generator optimization. Maximum number of types resolved in the type graph of the tested class. Once reached, types not yet resolved are left without members, so they are initialized as null.
+     * Valid values:0-10000. 0 - no limit
+     * Default:0
+     */
+    private int typeGraphMaxTypes = 0;
 
     public FileTemplateConfig(TestMeConfig testMeConfig)  {
         this(
@@ -112,7 +125,9 @@ public class FileTemplateConfig {
                 Boolean.valueOf(System.getProperties().getProperty("testMe.generator.stubMockMethodCallsReturnValues", "true")),
                 Integer.valueOf(System.getProperties().getProperty("testMe.generator.maxNumOfConcreteCandidatesToReplaceInterfaceParam", "5")),
                 Integer.valueOf(System.getProperties().getProperty("testMe.generator.minPercentOfExcessiveSettersToPreferMapCtor", "50")),
-                Integer.valueOf(System.getProperties().getProperty("testMe.generator.minPercentOfInteractionWithPropertiesToTriggerConstructorOptimization", "66"))
+                Integer.valueOf(System.getProperties().getProperty("testMe.generator.minPercentOfInteractionWithPropertiesToTriggerConstructorOptimization", "66")),
+                Long.valueOf(System.getProperties().getProperty("testMe.generator.typeGraphTimeBudgetMillis", "0")),
+                Integer.valueOf(System.getProperties().getProperty("testMe.generator.typeGraphMaxTypes", "0"))
         );
 
     }
@@ -122,7 +137,7 @@ public class FileTemplateConfig {
             boolean ignoreUnusedProperties, boolean replaceInterfaceParamsWithConcreteTypes,
             boolean stubMockMethodCallsReturnValues, int maxNumOfConcreteCandidatesToReplaceInterfaceParam,
             int minPercentOfExcessiveSettersToPreferMapCtor,
-            int minPercentOfInteractionWithPropertiesToTriggerConstructorOptimization) {
+            int minPercentOfInteractionWithPropertiesToTriggerConstructorOptimization, long typeGraphTimeBudgetMillis, int typeGraphMaxTypes) {
         this.maxRecursionDepth = maxRecursionDepth;
         this.reformatCode = reformatCode;
         this.replaceFqn = replaceFqn;
@@ -137,6 +152,8 @@ public class FileTemplateConfig {
         this.minPercentOfExcessiveSettersToPreferMapCtor = minPercentOfExcessiveSettersToPreferMapCtor;
         this.minPercentOfInteractionWithPropertiesToTriggerConstructorOptimization =
             minPercentOfInteractionWithPropertiesToTriggerConstructorOptimization;
+        this.typeGraphTimeBudgetMillis = typeGraphTimeBudgetMillis;
+        this.typeGraphMaxTypes = typeGraphMaxTypes;
     }
 
     public boolean isReformatCode() {
@@ -222,4 +239,20 @@ public class FileTemplateConfig {
     public boolean isThrowSpecificExceptionTypes() {
         return throwSpecificExceptionTypes;
     }
+
+    public long getTypeGraphTimeBudgetMillis() {
+        return typeGraphTimeBudgetMillis;
+    }
+
+    public void setTypeGraphTimeBudgetMillis(long typeGraphTimeBudgetMillis) {
+        this.typeGraphTimeBudgetMillis = typeGraphTimeBudgetMillis;
+    }
+
+    public int getTypeGraphMaxTypes() {
+        return typeGraphMaxTypes;
+    }
+
+    public void setTypeGraphMaxTypes(int typeGraphMaxTypes) {
+        this.typeGraphMaxTypes = typeGraphMaxTypes;
+    }
 }
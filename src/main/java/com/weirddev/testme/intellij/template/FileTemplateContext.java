@@ -4,10 +4,14 @@ import com.intellij.ide.fileTemplates.FileTemplateDescriptor;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
+import com.weirddev.testme.intellij.common.utils.PsiMethodUtils;
+import com.weirddev.testme.intellij.diagnostics.GenerationMetrics;
 import com.weirddev.testme.intellij.template.context.Language;
 import com.weirddev.testme.intellij.ui.customizedialog.FileTemplateCustomization;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.Set;
 
 /**
  * Date: 10/19/2016
@@ -31,6 +35,7 @@ public class FileTemplateContext {
     private final Collection<PsiElement> testsForClass;
     private final FileTemplateConfig fileTemplateConfig;
     private final FileTemplateCustomization fileTemplateCustomization;
+    private volatile GenerationMetrics generationMetrics;
 
     public FileTemplateContext(FileTemplateDescriptor fileTemplateDescriptor, Language language, Project project,
         String targetClass, PsiPackage targetPackage, Module srcModule, Module testModule, PsiDirectory targetDirectory,
@@ -49,6 +54,7 @@ public class FileTemplateContext {
         this.fileTemplateCustomization = fileTemplateCustomization;
         this.selectedMethod = selectedMethod;
         this.testsForClass = testsForClass;
+        this.generationMetrics = new GenerationMetrics(targetClass);
     }
 
     public Project getProject() {
@@ -106,7 +112,38 @@ public class FileTemplateContext {
         return !testsForClass.isEmpty();
     }
 
+    /**
+     * @return metrics of the current attempt to generate the test
+     */
+    public GenerationMetrics getGenerationMetrics() {
+        return generationMetrics;
+    }
+
+    /**
+     * starts the metrics of a new attempt to generate the test, discarding those of a former attempt - such as a cancelled read action being restarted
+     */
+    public GenerationMetrics startGenerationMetrics() {
+        generationMetrics = new GenerationMetrics(targetClass);
+        return generationMetrics;
+    }
+
     public boolean isCreateTestForSelectMethod() {
         return null != selectedMethod;
     }
+
+    /**
+     * @return ids of the test subject methods to generate tests for, when tests of other methods would be discarded or not rendered - so the type graph is built for these methods only.
+     * the selected method when adding its test to an existing test file, or the methods selected in the customize test dialog.
+     * null if the type graph should cover all methods. see {@link PsiMethodUtils#formatMethodId}
+     */
+    @Nullable
+    public Set<String> getTestedMethodIds() {
+        if (isCreateTestForSelectMethod() && isHasTestFile()) {
+            return Set.of(PsiMethodUtils.formatMethodId(selectedMethod));
+        }
+        if (fileTemplateCustomization != null && fileTemplateCustomization.isOpenUserCheckDialog()) {
+            return Set.copyOf(fileTemplateCustomization.getSelectedMethodIdList());
+        }
+        return null;
+    }
 }
@@ -1,21 +1,36 @@
 package com.weirddev.testme.intellij.template;
 
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.registry.Registry;
 import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
 import com.intellij.psi.util.PsiUtil;
 import com.weirddev.testme.intellij.builder.MethodFactory;
+import com.weirddev.testme.intellij.builder.TypeGraphPrefetcher;
 import com.weirddev.testme.intellij.cache.Cache;
+import com.weirddev.testme.intellij.cache.ConcurrentLruCache;
+import com.weirddev.testme.intellij.cache.LibraryTypeSummary;
 import com.weirddev.testme.intellij.cache.LruCache;
 import com.weirddev.testme.intellij.common.utils.LanguageUtils;
 import com.weirddev.testme.intellij.common.utils.PsiMethodUtils;
+import com.weirddev.testme.intellij.diagnostics.GenerationMetrics;
 import com.weirddev.testme.intellij.resolvers.to.ResolvedMethodCall;
+import com.weirddev.testme.intellij.template.context.Method;
 import com.weirddev.testme.intellij.template.context.Type;
 import com.weirddev.testme.intellij.utils.JavaTypeUtils;
 import com.weirddev.testme.intellij.utils.TypeUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Date: 26/11/2016
@@ -25,30 +40,66 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class TypeDictionary {
     private static final Logger LOG = Logger.getInstance(TypeDictionary.class.getName());
     private static final int MAX_RELEVANT_METHOD_IDS_CACHE = 5000;
+    private static final String PARALLEL_RESOLUTION_REGISTRY_KEY = "testme.typeGraph.parallel";
     private final Cache<String, Boolean> relevantMethodIdsCache;
     private final long startTimestamp;
     private final Set<String> testSubjectTypesNames;
     Map<String, Type> typeDictionary = new HashMap<>();//todo standardize as Cache
     private final PsiClass testSubjectClass;
     private final PsiPackage targetPackage;
-    private final Set<ResolvedMethodCall> methodCallsFromTestSubject;
+    /**
+     * ids of methods called from test subject methods. see {@link PsiMethodUtils#formatMethodId}
+     */
+    private final Set<String> methodIdsCalledFromTestSubject;
     private final List<String> testSubjectMethodParamsType;
     private AtomicInteger newTypeCounter = new AtomicInteger();
     private AtomicInteger existingTypeHitsCounter = new AtomicInteger();
+    private final AtomicInteger newMethodCounter = new AtomicInteger();
+    private final AtomicLong relevancyChecksCounter = new AtomicLong();
+    private final AtomicLong relevancyChecksNanos = new AtomicLong();
     private boolean throwSpecificExceptionTypes;
+    /**
+     * modification stamps of files declaring the resolved types, captured when types were created. used for detecting stale type graphs
+     */
+    private final Map<PsiFile, Long> dependentFilesStamps = new HashMap<>();
+    private volatile boolean incomplete;
+    private final AtomicBoolean prefetched = new AtomicBoolean();
+    /**
+     * shallow methods shared by all call sites and method references resolved by this dictionary
+     */
+    private final Map<String, Method> internedMethods = new ConcurrentHashMap<>();
+    private final AtomicLong internedMethodHits = new AtomicLong();
+    private final TypeGraphBudget budget;
+    /**
+     * budget usage of the test generation running on the current thread. a cached dictionary may be shared by concurrent generations, each with a budget of its own
+     */
+    private final ThreadLocal<TypeGraphBudget.Tracker> budgetTrackers = new ThreadLocal<>();
+    private final AtomicInteger truncatedTypesCounter = new AtomicInteger();
+    /**
+     * ids of test subject methods resolved when the type graph is scoped to some of the test subject methods. null when all methods are resolved
+     */
+    @Nullable
+    private final Set<String> scopedMethodIds;
 
-    private TypeDictionary(PsiClass srcClass, PsiPackage targetPackage, Set<ResolvedMethodCall> methodCallsFromTestSubject, List<String> testSubjectMethodParamsType,boolean throwSpecificExceptionTypes) {
+    private TypeDictionary(PsiClass srcClass, PsiPackage targetPackage, Set<String> methodIdsCalledFromTestSubject, List<String> testSubjectMethodParamsType,boolean throwSpecificExceptionTypes, TypeGraphBudget budget, @Nullable Set<String> scopedMethodIds,
+                           Collection<PsiClass> dependencyClasses) {
         this.testSubjectClass = srcClass;
         this.testSubjectTypesNames = resolveTypesNames(srcClass);
         this.targetPackage = targetPackage;
-        this.methodCallsFromTestSubject = methodCallsFromTestSubject;
+        this.methodIdsCalledFromTestSubject = methodIdsCalledFromTestSubject;
         this.testSubjectMethodParamsType = testSubjectMethodParamsType;
-        this.relevantMethodIdsCache = new LruCache<>(MAX_RELEVANT_METHOD_IDS_CACHE);
+        this.relevantMethodIdsCache = new ConcurrentLruCache<>(MAX_RELEVANT_METHOD_IDS_CACHE);
         startTimestamp = System.currentTimeMillis();
         this.throwSpecificExceptionTypes = throwSpecificExceptionTypes;
+        this.budget = budget;
+        this.scopedMethodIds = scopedMethodIds;
+        trackDependency(srcClass);
+        for (PsiClass dependencyClass : dependencyClasses) {
+            trackDependency(dependencyClass);
+        }
     }
 
-    private Set<String> resolveTypesNames(PsiClass srcClass) {
+    private static Set<String> resolveTypesNames(PsiClass srcClass) {
         HashSet<String> typesNames = new HashSet<>();
         for(PsiClass clazz = srcClass; clazz != null && !TypeUtils.isLanguageBaseClass(clazz.getQualifiedName()); clazz = clazz.getSuperClass()) {
             typesNames.add(clazz.getQualifiedName());
@@ -57,16 +108,70 @@ public class TypeDictionary {
     }
 
     public static TypeDictionary create(PsiClass srcClass, PsiPackage targetPackage,boolean throwSpecificExceptionTypes){
-        Set<ResolvedMethodCall> methodCallsFromTestSubject = new HashSet<>();
+        return create(srcClass, targetPackage, throwSpecificExceptionTypes, TypeGraphBudget.UNLIMITED);
+    }
+
+    public static TypeDictionary create(PsiClass srcClass, PsiPackage targetPackage, boolean throwSpecificExceptionTypes, TypeGraphBudget budget) {
+        return create(srcClass, targetPackage, throwSpecificExceptionTypes, budget, null);
+    }
+
+    /**
+     * @param methodScope ids of test subject methods to build the type graph for. see {@link PsiMethodUtils#formatMethodId}. null - build the type graph for all methods
+     */
+    public static TypeDictionary create(PsiClass srcClass, PsiPackage targetPackage, boolean throwSpecificExceptionTypes, TypeGraphBudget budget, @Nullable Set<String> methodScope) {
+        final Collection<PsiMethod> testSubjectMethods = srcClass == null ? List.of() : resolveScopedMethods(srcClass, methodScope);
+        Set<String> methodIdsCalledFromTestSubject = new HashSet<>();
+        // supertypes declare inherited test subject methods, and called methods feed method relevancy - so modifying either makes the type graph stale
+        final Set<PsiClass> dependencyClasses = new HashSet<>();
         if (srcClass != null) {
-            for (PsiMethod method : srcClass.getAllMethods()) {
+            InheritanceUtil.getSuperClasses(srcClass, dependencyClasses, true);
+            for (PsiMethod method : testSubjectMethods) {
                 List<ResolvedMethodCall> methodCalls = MethodFactory.resolvedMethodCalls(method);
                 LOG.debug("resolved method calls ", method.getName(), methodCalls);
-                methodCallsFromTestSubject.addAll(methodCalls);
+                for (ResolvedMethodCall methodCall : methodCalls) {
+                    methodIdsCalledFromTestSubject.add(methodCall.getMethodId());
+                    final PsiMethod calledMethod = methodCall.getPsiMethod();
+                    if (calledMethod != null && calledMethod.getContainingClass() != null) {
+                        dependencyClasses.add(calledMethod.getContainingClass());
+                    }
+                }
             }
         }
-        List<String> testSubjectMethodParamsType = srcClass == null ? List.of() :  Arrays.stream(srcClass.getAllMethods()).flatMap(psiMethod1 -> Arrays.stream(psiMethod1.getParameterList().getParameters()).map(p -> p.getType().getCanonicalText()).filter(TypeUtils::isBasicType)).toList();
-        return new TypeDictionary(srcClass, targetPackage, methodCallsFromTestSubject, testSubjectMethodParamsType,throwSpecificExceptionTypes);
+        List<String> testSubjectMethodParamsType = testSubjectMethods.stream().flatMap(psiMethod1 -> Arrays.stream(psiMethod1.getParameterList().getParameters()).map(p -> p.getType().getCanonicalText()).filter(TypeUtils::isBasicType)).toList();
+        final Set<String> scopedMethodIds = methodScope == null ? null : testSubjectMethods.stream().map(PsiMethodUtils::formatMethodId).collect(Collectors.toSet());
+        return new TypeDictionary(srcClass, targetPackage, methodIdsCalledFromTestSubject, testSubjectMethodParamsType,throwSpecificExceptionTypes, budget, scopedMethodIds, dependencyClasses);
+    }
+
+    /**
+     * @return all methods of the test subject when not scoped. otherwise the scoped methods, the constructors needed for instantiating the test subject,
+     * and test subject methods called from them - directly or through other test subject methods
+     */
+    private static Collection<PsiMethod> resolveScopedMethods(PsiClass srcClass, @Nullable Set<String> methodScope) {
+        final PsiMethod[] allMethods = srcClass.getAllMethods();
+        if (methodScope == null) {
+            return Arrays.asList(allMethods);
+        }
+        final Set<String> testSubjectTypesNames = resolveTypesNames(srcClass);
+        final Map<String, PsiMethod> scopedMethods = new LinkedHashMap<>();
+        final Deque<PsiMethod> pendingMethods = new ArrayDeque<>();
+        for (PsiMethod method : allMethods) {
+            if (method.isConstructor() || methodScope.contains(PsiMethodUtils.formatMethodId(method))) {
+                pendingMethods.add(method);
+            }
+        }
+        while (!pendingMethods.isEmpty()) {
+            final PsiMethod method = pendingMethods.poll();
+            if (scopedMethods.putIfAbsent(PsiMethodUtils.formatMethodId(method), method) == null) {
+                for (ResolvedMethodCall methodCall : MethodFactory.resolvedMethodCalls(method)) {
+                    final PsiMethod calledMethod = methodCall.getPsiMethod();
+                    if (calledMethod != null && calledMethod.getContainingClass() != null && testSubjectTypesNames.contains(calledMethod.getContainingClass().getQualifiedName())) {
+                        pendingMethods.add(calledMethod);
+                    }
+                }
+            }
+        }
+        LOG.debug("type graph scoped to " + scopedMethods.size() + " of " + allMethods.length + " test subject methods");
+        return scopedMethods.values();
     }
 
     /**
@@ -82,6 +187,16 @@ public class TypeDictionary {
     }
 
     private boolean computeIsRelevant(PsiMethod psiMethod, @Nullable PsiClass psiClass) {
+        final long start = System.nanoTime();
+        try {
+            return computeIsRelevantInternal(psiMethod, psiClass);
+        } finally {
+            relevancyChecksCounter.incrementAndGet();
+            relevancyChecksNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private boolean computeIsRelevantInternal(PsiMethod psiMethod, @Nullable PsiClass psiClass) {
         final PsiClass ownerClass = psiMethod.getContainingClass() == null ? psiClass : psiMethod.getContainingClass();
         final String methodId = PsiMethodUtils.formatMethodId(psiMethod);
         if(!isTestSubject(ownerClass) && !calledFromTestSubject(methodId) && !isCtorOfUsedType(psiMethod)){
@@ -109,12 +224,29 @@ public class TypeDictionary {
         return true;
     }
 
+    /**
+     * @return false if the method at the given index of a library type summary can be neither a constructor, a property accessor nor relevant.
+     * so the PSI of library methods that would be skipped anyway is not resolved
+     */
+    public boolean mayResolveMethod(LibraryTypeSummary librarySummary, int methodIndex) {
+        return librarySummary.isConstructor(methodIndex) || librarySummary.hasAccessorSignature(methodIndex) || calledFromTestSubject(librarySummary.getMethodId(methodIndex))
+                || testSubjectTypesNames.contains(librarySummary.getMethodOwner(methodIndex));
+    }
+
     private boolean isCtorOfUsedType(PsiMethod psiMethod) {
         return psiMethod.isConstructor() && psiMethod.getContainingClass() != null && testSubjectMethodParamsType.contains(psiMethod.getContainingClass().getQualifiedName())  ;
     }
 
     private boolean calledFromTestSubject(String methodId) {
-        return methodCallsFromTestSubject.stream().anyMatch(resolvedMethodCall -> resolvedMethodCall.getMethodId().equals(methodId));
+        return methodIdsCalledFromTestSubject.contains(methodId);
+    }
+
+    /**
+     * @param psiClass the type resolving the method
+     * @return false if the method is a test subject method outside the method scope of this type graph, so it is not resolved
+     */
+    public boolean isInMethodScope(PsiMethod psiMethod, @Nullable PsiClass psiClass) {
+        return scopedMethodIds == null || psiMethod.isConstructor() || !isTestSubject(psiClass) || scopedMethodIds.contains(PsiMethodUtils.formatMethodId(psiMethod));
     }
 
     public  boolean isTestSubject(PsiClass psiClass) {
@@ -136,22 +268,31 @@ public class TypeDictionary {
     }
 
     @Nullable
-    private Type getTypeInternal(Object element, int maxRecursionDepth, boolean shouldResolveAllMethods, Object typeElement) {
+    private synchronized Type getTypeInternal(Object element, int maxRecursionDepth, boolean shouldResolveAllMethods, Object typeElement) {
         Type type = null;
         String canonicalText = JavaTypeUtils.resolveCanonicalName(element, typeElement);
         if  (canonicalText != null) {
             type = typeDictionary.get(canonicalText);
             if (type == null || !type.isDependenciesResolvable() && shouldResolveAllMethods && maxRecursionDepth > 1) {
+                ProgressManager.checkCanceled();
                 LOG.debug(newTypeCounter.incrementAndGet() + ". Creating new Type for:" + canonicalText + " maxRecursionDepth:" + maxRecursionDepth);
-                if (element instanceof PsiType) {
-                    final PsiType psiType = (PsiType) element;
-                    type = new Type(psiType, typeElement, this, maxRecursionDepth, shouldResolveAllMethods);
-                    typeDictionary.put(canonicalText, type);
-                    type.resolveDependencies(this, maxRecursionDepth, psiType, shouldResolveAllMethods);
-                } else if (element instanceof PsiClass) {
-                    final PsiClass psiClass = (PsiClass) element;
-                    type = new Type(psiClass, this, maxRecursionDepth, shouldResolveAllMethods);
-                    typeDictionary.put(canonicalText, type);
+                try {
+                    if (element instanceof PsiType) {
+                        final PsiType psiType = (PsiType) element;
+                        trackDependency(PsiUtil.resolveClassInType(psiType));
+                        type = new Type(psiType, typeElement, this, maxRecursionDepth, shouldResolveAllMethods);
+                        typeDictionary.put(canonicalText, type);
+                        type.resolveDependencies(this, maxRecursionDepth, psiType, shouldResolveAllMethods);
+                    } else if (element instanceof PsiClass) {
+                        final PsiClass psiClass = (PsiClass) element;
+                        trackDependency(psiClass);
+                        type = new Type(psiClass, this, maxRecursionDepth, shouldResolveAllMethods);
+                        typeDictionary.put(canonicalText, type);
+                    }
+                } catch (RuntimeException e) {
+                    // a cancelled or failed resolution leaves partially resolved types behind
+                    incomplete = true;
+                    throw e;
                 }
             } else {
                 LOG.debug(existingTypeHitsCounter.incrementAndGet() + ". Found existing Type for:" + canonicalText + " maxRecursionDepth:" + maxRecursionDepth);
@@ -160,12 +301,150 @@ public class TypeDictionary {
         return type;
     }
 
+    /**
+     * starts the type graph budget of a test generation running on the current thread, and passes over the classes reachable from the test subject breadth first,
+     * so the type graph resolved afterward is built from cached method relevancy and method calls. when the budget runs out during the pass,
+     * types from the first level not passed onward are truncated - regardless of the order the test template accesses types in, or of the time spent on rendering it.
+     * the pass is concurrent when turned on by the testme.typeGraph.parallel registry key, and skipped when the budget is unlimited and the pass is sequential,
+     * or was already done for this dictionary
+     *
+     * @param maxRecursionDepth recursion depth of the test subject type
+     */
+    public void startBudget(int maxRecursionDepth) {
+        final TypeGraphBudget.Tracker tracker = budget.start(maxRecursionDepth);
+        budgetTrackers.set(tracker);
+        final boolean parallel = Registry.is(PARALLEL_RESOLUTION_REGISTRY_KEY, false);
+        if (testSubjectClass != null && (budget.isLimited() || parallel && prefetched.compareAndSet(false, true))) {
+            final TypeGraphPrefetcher prefetcher = new TypeGraphPrefetcher(this, tracker, parallel);
+            final int prefetchedLevels = prefetcher.prefetch(testSubjectClass, maxRecursionDepth);
+            if (prefetcher.isBudgetExhausted()) {
+                tracker.truncateFrom(prefetchedLevels);
+                LOG.debug("type graph budget " + budget + " exhausted while prefetching. truncating types from recursion level " + tracker.getTruncatedLevel());
+            }
+        }
+    }
+
+    /**
+     * called before resolving the members of a type. a truncated type marks this dictionary as incomplete, so a truncated type graph is not re-used by later generations
+     *
+     * @param maxRecursionDepth remaining recursion depth of the type
+     * @return true if the members of the type should not be resolved, since it is beyond the type graph budget of the current generation. the test subject itself is never truncated
+     */
+    public boolean truncateOnBudget(int maxRecursionDepth) {
+        final TypeGraphBudget.Tracker tracker = budgetTrackers.get();
+        if (tracker != null && tracker.isTruncated(maxRecursionDepth)) {
+            truncatedTypesCounter.incrementAndGet();
+            incomplete = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * runs a deferred resolution of type members. resolutions are serialized, since resolved types are shared through this dictionary
+     */
+    public synchronized void resolveLazily(Runnable resolution) {
+        ProgressManager.checkCanceled();
+        try {
+            resolution.run();
+        } catch (RuntimeException e) {
+            incomplete = true;
+            throw e;
+        }
+    }
+
+    private void trackDependency(@Nullable PsiClass psiClass) {
+        final PsiFile psiFile = psiClass == null ? null : psiClass.getContainingFile();
+        if (psiFile != null) {
+            dependentFilesStamps.putIfAbsent(psiFile, psiFile.getModificationStamp());
+        }
+    }
+
+    /**
+     * @return true - if resolution was not interrupted and test subject and all files declaring types resolved by this dictionary were not modified since resolved
+     */
+    public synchronized boolean isUpToDate() {
+        if (incomplete || testSubjectClass == null || !testSubjectClass.isValid()) {
+            return false;
+        }
+        for (Map.Entry<PsiFile, Long> fileStamp : dependentFilesStamps.entrySet()) {
+            if (!fileStamp.getKey().isValid() || fileStamp.getKey().getModificationStamp() != fileStamp.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public boolean isAccessible(PsiMethod psiMethod) {
         return PsiUtil.isAccessibleFromPackage(psiMethod, targetPackage) && (psiMethod.getContainingClass() == null || PsiUtil.isAccessibleFromPackage(psiMethod.getContainingClass(), targetPackage));
     }
     public void logStatistics() {
-        LOG.info("**** Statistics: took %dms. type hits/req:%d/%d method relevancy cache %s".formatted(
-                startTimestamp - System.currentTimeMillis(),newTypeCounter.get(), newTypeCounter.get() + existingTypeHitsCounter.get(), relevantMethodIdsCache.getUsageStats()));
+        LOG.info("**** Statistics: took %dms. type hits/req:%d/%d methods created:%d shared:%d method relevancy cache %s. relevancy checks:%d took %dms. methods called from test subject:%d".formatted(
+                System.currentTimeMillis() - startTimestamp, existingTypeHitsCounter.get(), newTypeCounter.get() + existingTypeHitsCounter.get(), newMethodCounter.get(), internedMethodHits.get(), relevantMethodIdsCache.getUsageStats(),
+                relevancyChecksCounter.get(), TimeUnit.NANOSECONDS.toMillis(relevancyChecksNanos.get()), methodIdsCalledFromTestSubject.size()));
+    }
+
+    /**
+     * @param key identifies the method and how it was resolved. see {@link MethodFactory}
+     * @return a method previously created by this dictionary for the same key, otherwise the method created by given factory
+     */
+    public Method internMethod(String key, Supplier<Method> methodFactory) {
+        Method method = internedMethods.get(key);
+        if (method == null) {
+            // not computed within the map, since creating a method may intern the methods it references
+            final Method newMethod = methodFactory.get();
+            method = internedMethods.putIfAbsent(key, newMethod);
+            if (method == null) {
+                return newMethod;
+            }
+        }
+        internedMethodHits.incrementAndGet();
+        return method;
+    }
+
+    public void recordMethodCreated() {
+        newMethodCounter.incrementAndGet();
+    }
+
+    /**
+     * snapshots the type and method resolution counters and cache usage of this dictionary at the start of a test generation.
+     * a cached dictionary is re-used by later generations, so each generation records only what was resolved since its own snapshot
+     *
+     * @return collector recording the counters and cache usage of this dictionary since the snapshot
+     */
+    public Consumer<GenerationMetrics> startGenerationMetrics() {
+        final long typesCreated = newTypeCounter.get();
+        final long typeHits = existingTypeHitsCounter.get();
+        final long methodsCreated = newMethodCounter.get();
+        final long methodsShared = internedMethodHits.get();
+        final long relevancyChecks = relevancyChecksCounter.get();
+        final long typesTruncated = truncatedTypesCounter.get();
+        final LruCache.CacheStats relevancyCacheStats = relevantMethodIdsCache.getUsageStats();
+        return metrics -> {
+            final long generationTypesCreated = newTypeCounter.get() - typesCreated;
+            final long generationTypeHits = existingTypeHitsCounter.get() - typeHits;
+            metrics.setCounter(GenerationMetrics.TYPES_CREATED, generationTypesCreated);
+            metrics.setCounter(GenerationMetrics.METHODS_CREATED, newMethodCounter.get() - methodsCreated);
+            metrics.setCounter(GenerationMetrics.METHODS_SHARED, internedMethodHits.get() - methodsShared);
+            metrics.setCounter(GenerationMetrics.RELEVANCY_CHECKS, relevancyChecksCounter.get() - relevancyChecks);
+            metrics.setCounter(GenerationMetrics.TYPES_TRUNCATED, truncatedTypesCounter.get() - typesTruncated);
+            metrics.setCacheStats(GenerationMetrics.TYPE_CACHE, new LruCache.CacheStats(generationTypeHits, generationTypesCreated + generationTypeHits, typeDictionary.size()));
+            final LruCache.CacheStats currentRelevancyCacheStats = relevantMethodIdsCache.getUsageStats();
+            metrics.setCacheStats(GenerationMetrics.RELEVANCY_CACHE, new LruCache.CacheStats(currentRelevancyCacheStats.getHits() - relevancyCacheStats.getHits(),
+                    currentRelevancyCacheStats.getRequests() - relevancyCacheStats.getRequests(), currentRelevancyCacheStats.getSize(),
+                    currentRelevancyCacheStats.getEvictions() - relevancyCacheStats.getEvictions(), currentRelevancyCacheStats.getLoadNanos() - relevancyCacheStats.getLoadNanos()));
+        };
+    }
+
+    /**
+     * @return number of relevancy checks computed, i.e. not served by the relevancy cache
+     */
+    public long getRelevancyChecksCount() {
+        return relevancyChecksCounter.get();
+    }
+
+    public long getRelevancyChecksMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(relevancyChecksNanos.get());
     }
 
     public boolean isThrowSpecificExceptionTypes() {
@@ -0,0 +1,96 @@
+package com.weirddev.testme.intellij.template;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the time and the number of types spent on resolving the type graph of a test subject, per test generation.
+ * The budget is spent on a breadth first pass over the classes reachable from the test subject, before the test template is rendered.
+ * Once exhausted, types from the first recursion level not passed onward are truncated - left without members. Unlimited when both limits are 0.
+ *
+ * @see TypeDictionary#startBudget(int)
+ */
+public class TypeGraphBudget {
+    public static final TypeGraphBudget UNLIMITED = new TypeGraphBudget(0, 0);
+    private final long timeMillis;
+    private final int maxTypes;
+
+    public TypeGraphBudget(long timeMillis, int maxTypes) {
+        this.timeMillis = timeMillis;
+        this.maxTypes = maxTypes;
+    }
+
+    public static TypeGraphBudget of(FileTemplateConfig fileTemplateConfig) {
+        return new TypeGraphBudget(fileTemplateConfig.getTypeGraphTimeBudgetMillis(), fileTemplateConfig.getTypeGraphMaxTypes());
+    }
+
+    /**
+     * @param rootRecursionDepth recursion depth of the test subject type
+     * @return usage of this budget by a single test generation, starting now
+     */
+    public Tracker start(int rootRecursionDepth) {
+        return new Tracker(this, rootRecursionDepth, timeMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeMillis) : Long.MAX_VALUE);
+    }
+
+    public boolean isLimited() {
+        return timeMillis > 0 || maxTypes > 0;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public int getMaxTypes() {
+        return maxTypes;
+    }
+
+    @Override
+    public String toString() {
+        return isLimited() ? timeMillis + "ms/" + maxTypes + " types" : "unlimited";
+    }
+
+    /**
+     * usage of a type graph budget by a single test generation. not shared between generations, so concurrent generations of a cached type graph do not affect each other
+     */
+    public static class Tracker {
+        private final TypeGraphBudget budget;
+        private final int rootRecursionDepth;
+        private final long deadlineNanos;
+        /**
+         * recursion level from which types are truncated
+         */
+        private volatile int truncatedLevel = Integer.MAX_VALUE;
+
+        Tracker(TypeGraphBudget budget, int rootRecursionDepth, long deadlineNanos) {
+            this.budget = budget;
+            this.rootRecursionDepth = rootRecursionDepth;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * @param typesCount no. of types passed so far
+         * @return true if the budget is limited and ran out of time or types
+         */
+        public boolean isExhausted(int typesCount) {
+            return budget.isLimited() && (System.nanoTime() > deadlineNanos || budget.getMaxTypes() > 0 && typesCount >= budget.getMaxTypes());
+        }
+
+        /**
+         * truncates types from the given recursion level onward. the test subject, at level 0, is never truncated
+         */
+        public void truncateFrom(int level) {
+            truncatedLevel = Math.max(1, level);
+        }
+
+        /**
+         * @param maxRecursionDepth remaining recursion depth of a type
+         * @return true if the members of the type should not be resolved
+         */
+        public boolean isTruncated(int maxRecursionDepth) {
+            return rootRecursionDepth - maxRecursionDepth >= truncatedLevel;
+        }
+
+        public int getTruncatedLevel() {
+            return truncatedLevel;
+        }
+    }
+}
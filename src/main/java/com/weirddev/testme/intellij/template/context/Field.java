@@ -3,7 +3,7 @@ package com.weirddev.testme.intellij.template.context;
 import com.intellij.psi.*;
 import com.weirddev.testme.intellij.template.TypeDictionary;
 import com.weirddev.testme.intellij.utils.ClassNameUtils;
-import com.weirddev.testme.intellij.utils.PropertyUtils;
+import com.weirddev.testme.intellij.utils.PropertyAccessorIndex;
 import lombok.Getter;
 
 import java.util.Arrays;
@@ -89,9 +89,7 @@ public class Field {
      * @return true if field has setter
      */
     private boolean buildHasSetter(PsiClass psiClass, String fieldName, TypeDictionary typeDictionary) {
-        return null != typeDictionary && typeDictionary.isTestSubject(psiClass) && null != psiClass.getMethods()
-            && psiClass.getMethods().length > 0 && Arrays.stream(psiClass.getMethods())
-                .anyMatch(psiMethod -> PropertyUtils.isPropertySetter(psiMethod, fieldName));
+        return null != typeDictionary && typeDictionary.isTestSubject(psiClass) && PropertyAccessorIndex.of(psiClass).hasDeclaredSetter(fieldName);
     }
 
     /**
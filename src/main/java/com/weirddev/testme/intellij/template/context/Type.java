@@ -4,23 +4,26 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiUtil;
 import com.weirddev.testme.intellij.builder.MethodFactory;
+import com.weirddev.testme.intellij.cache.LibraryTypeSummary;
+import com.weirddev.testme.intellij.cache.LibraryTypeSummaryCache;
 import com.weirddev.testme.intellij.common.utils.LanguageUtils;
 import com.weirddev.testme.intellij.scala.resolvers.ScalaPsiTreeUtils;
 import com.weirddev.testme.intellij.scala.resolvers.ScalaTypeUtils;
 import com.weirddev.testme.intellij.template.TypeDictionary;
 import com.weirddev.testme.intellij.utils.*;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * A used type - object or primitive.
+ * Members of types resolved by a {@link TypeDictionary} - methods, fields, implemented interfaces and composed types, are resolved lazily on first access,
+ * so only the part of the type graph actually used by the test template gets resolved.
  *
  * Date: 24/10/2016
  * @author Yaron Yamin
@@ -47,7 +50,7 @@ public class Type {
     /**
      * Used types of generic params if relevant
      */
-    private final List<Type> composedTypes;
+    private List<Type> composedTypes;
     /**
      * true when type is an array
      */
@@ -112,11 +115,11 @@ public class Type {
     /**
      * type's methods if relevant
      */
-    private final List<Method> methods;
+    private final List<Method> methods = new ArrayList<>();
     /**
      * fields defined for this type
      */
-    private final List<Field> fields;
+    private final List<Field> fields = new ArrayList<>();
 
     /**
      * interfaces implemented by this type if any
@@ -132,6 +135,33 @@ public class Type {
      */
     private final boolean isAnnotatedByDI;
 
+    /**
+     * pending resolution of composed types. null once resolved
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Runnable composedTypesResolution;
+    /**
+     * pending resolution of methods, fields and implemented interfaces. null once resolved
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile DependenciesResolution dependenciesResolution;
+    @Getter(AccessLevel.NONE)
+    private boolean resolvingDependencies;
+    /**
+     * true when methods, fields and implemented interfaces of this type were not resolved, since the type graph budget was exhausted
+     */
+    private volatile boolean truncated;
+    /**
+     * constructors index, sorted. built once methods are resolved
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile List<Method> constructors;
+    /**
+     * methods index by method id, and getters and setters by property name. built once methods are resolved
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile MethodsIndex methodsIndex;
+
     @Deprecated
     public Type(String canonicalName, String name, String packageName, boolean isPrimitive, boolean isInterface, boolean isAbstract, boolean array, int arrayDimensions, boolean varargs, List<Type> composedTypes) {
         this.canonicalName = canonicalName;
@@ -146,8 +176,6 @@ public class Type {
         this.composedTypes = composedTypes;
         enumValues = new ArrayList<>();
         isEnum = false;
-        methods= new ArrayList<>();
-        fields= new ArrayList<>();
         parentContainerClass = null;
         isStatic = false;
         isFinal = false;
@@ -167,7 +195,16 @@ public class Type {
         name = ClassNameUtils.extractClassName(ClassNameUtils.stripArrayVarargsDesignator(psiType.getPresentableText()));
         packageName = ClassNameUtils.extractPackageName(canonicalName);
         isPrimitive = psiType instanceof PsiPrimitiveType;
-        composedTypes = resolveTypes(psiType, typePsiElement,typeDictionary, maxRecursionDepth);
+        if (typeDictionary != null && psiType instanceof PsiClassType && ((PsiClassType) psiType).getParameters().length > 0) {
+            composedTypes = null;
+            composedTypesResolution = () -> typeDictionary.resolveLazily(() -> {
+                if (composedTypes == null) {
+                    composedTypes = resolveTypes(psiType, typePsiElement, typeDictionary, maxRecursionDepth);
+                }
+            });
+        } else {
+            composedTypes = new ArrayList<>();
+        }
         PsiClass psiClass = PsiUtil.resolveClassInType(psiType);
         isEnum = JavaPsiTreeUtils.resolveIfEnum(psiClass);
         isInterface = psiClass != null && psiClass.isInterface();
@@ -176,10 +213,8 @@ public class Type {
         isStatic = hasModifier(psiClass, PsiModifier.STATIC) || psiClass!=null && "org.jetbrains.plugins.scala.lang.psi.impl.toplevel.typedef.ScObjectImpl".equals(psiClass.getClass().getCanonicalName());
         parentContainerClass = psiClass != null && psiClass.getParent() != null && psiClass.getParent() instanceof PsiClass && typeDictionary != null ? typeDictionary.getType(resolveType((PsiClass) psiClass.getParent()), maxRecursionDepth,
                 false) : null;
-        fields = new ArrayList<>();
-        enumValues = JavaPsiTreeUtils.resolveEnumValues(psiClass,typePsiElement);
+        enumValues = resolveEnumValues(psiClass, typePsiElement);
         dependenciesResolvable = shouldResolveAllMethods && maxRecursionDepth > 1;
-        methods = new ArrayList<>();
         isFinal = isFinalType(psiClass);
         caseClass = psiClass != null && LanguageUtils.isScala(psiClass.getLanguage()) && ScalaTypeUtils.isCaseClass(psiClass);
         sealed = psiClass != null && LanguageUtils.isScala(psiClass.getLanguage()) && ScalaTypeUtils.isSealed(psiClass);
@@ -203,10 +238,8 @@ public class Type {
         isStatic = psiClass.getModifierList() != null && psiClass.getModifierList().hasExplicitModifier(PsiModifier.STATIC);
         parentContainerClass = psiClass.getParent() != null && psiClass.getParent() instanceof PsiClass && typeDictionary != null ? typeDictionary.getType(resolveType((PsiClass) psiClass.getParent()), maxRecursionDepth,
                 false) : null;
-        fields = new ArrayList<>();
-        enumValues = JavaPsiTreeUtils.resolveEnumValues(psiClass, null);
+        enumValues = resolveEnumValues(psiClass, null);
         dependenciesResolvable = shouldResolveAllMethods && maxRecursionDepth > 1;
-        methods = new ArrayList<>();
         isFinal = isFinalType(psiClass);
         caseClass = LanguageUtils.isScala(psiClass.getLanguage()) && ScalaTypeUtils.isCaseClass(psiClass);
         sealed = LanguageUtils.isScala(psiClass.getLanguage()) && ScalaTypeUtils.isSealed(psiClass);
@@ -218,7 +251,76 @@ public class Type {
         return JavaPsiFacade.getInstance(psiClass.getProject()).getElementFactory().createType(psiClass);
     }
 
+    /**
+     * registers resolution of methods, fields and implemented interfaces of this type. actual resolution is deferred until any of them is accessed
+     */
     public void resolveDependencies(@Nullable TypeDictionary typeDictionary, int maxRecursionDepth, PsiType psiType, boolean shouldResolveAllMethods) {
+        if (typeDictionary == null) {
+            resolveDependenciesNow(null, maxRecursionDepth, psiType, shouldResolveAllMethods);
+        } else {
+            dependenciesResolution = new DependenciesResolution(typeDictionary, maxRecursionDepth, psiType, shouldResolveAllMethods);
+        }
+    }
+
+    public List<Type> getComposedTypes() {
+        final Runnable resolution = composedTypesResolution;
+        if (resolution != null) {
+            resolution.run();
+            composedTypesResolution = null;
+        }
+        return composedTypes;
+    }
+
+    public List<Method> getMethods() {
+        resolvePendingDependencies();
+        return methods;
+    }
+
+    public List<Field> getFields() {
+        resolvePendingDependencies();
+        return fields;
+    }
+
+    public List<Type> getImplementedInterfaces() {
+        resolvePendingDependencies();
+        return implementedInterfaces;
+    }
+
+    public boolean isDependenciesResolved() {
+        resolvePendingDependencies();
+        return dependenciesResolved;
+    }
+
+    public boolean isHasDefaultConstructor() {
+        resolvePendingDependencies();
+        return hasDefaultConstructor;
+    }
+
+    private void resolvePendingDependencies() {
+        final DependenciesResolution resolution = dependenciesResolution;
+        if (resolution != null) {
+            resolution.typeDictionary.resolveLazily(() -> {
+                // members accessed recursively while resolving are served from what was resolved so far
+                if (dependenciesResolution == resolution && !resolvingDependencies) {
+                    if (resolution.typeDictionary.truncateOnBudget(resolution.maxRecursionDepth)) {
+                        truncated = true;
+                        dependenciesResolution = null;
+                        return;
+                    }
+                    resolvingDependencies = true;
+                    try {
+                        resolveDependenciesNow(resolution.typeDictionary, resolution.maxRecursionDepth, resolution.psiType, resolution.shouldResolveAllMethods);
+                    } finally {
+                        // a failed resolution is not retried. the type dictionary is marked as incomplete and not re-used
+                        resolvingDependencies = false;
+                        dependenciesResolution = null;
+                    }
+                }
+            });
+        }
+    }
+
+    private void resolveDependenciesNow(@Nullable TypeDictionary typeDictionary, int maxRecursionDepth, PsiType psiType, boolean shouldResolveAllMethods) {
         PsiClass psiClass = PsiUtil.resolveClassInType(psiType);
 //        todo Need to resolve methods of dependant libs for mocking. consider performance hit...
         String canonicalText = psiType.getCanonicalText();
@@ -227,8 +329,15 @@ public class Type {
             if (psiClass.getConstructors().length == 0) {
                  hasDefaultConstructor=true; //todo check if parent ctors are also retrieved by getConstructors()
             }
-            for (PsiMethod psiMethod : psiClass.getAllMethods()) {
-                if (isPropertyRelated(psiMethod) || psiMethod.isConstructor() || typeDictionary.isRelevant(psiMethod, psiClass) ){
+            final PsiMethod[] allMethods = psiClass.getAllMethods();
+            final LibraryTypeSummary librarySummary = LibraryTypeSummaryCache.getInstance().findSummary(psiClass, allMethods);
+            final PropertyAccessorIndex propertyAccessorIndex = librarySummary == null ? PropertyAccessorIndex.of(psiClass) : null;
+            for (int i = 0; i < allMethods.length; i++) {
+                final PsiMethod psiMethod = allMethods[i];
+                if (librarySummary != null && !typeDictionary.mayResolveMethod(librarySummary, i) || !typeDictionary.isInMethodScope(psiMethod, psiClass)) {
+                    continue;
+                }
+                if (isPropertyRelated(psiMethod, propertyAccessorIndex) || psiMethod.isConstructor() || typeDictionary.isRelevant(psiMethod, psiClass) ){
                     final Method method = MethodFactory.createMethod(psiMethod, psiClass, maxRecursionDepth - 1, typeDictionary, psiType);
                     if (typeDictionary.isTestSubject(psiClass) || typeDictionary.isRelevant(psiMethod, psiClass)) {//todo main... ctor may not be called from subject but may be passed to tested methods
                         MethodFactory.resolveInternalReferences(typeDictionary, psiMethod, method);
@@ -244,8 +353,13 @@ public class Type {
         }
     }
 
-    private boolean isPropertyRelated(PsiMethod psiMethod) {
-        return (PropertyUtils.isPropertySetter(psiMethod) || PropertyUtils.isPropertyGetter(psiMethod)) && !isGroovyLangProperty(psiMethod);
+    /**
+     * @param propertyAccessorIndex accessors of the method's type. null for library types, which check only the few methods summarized as possible accessors
+     */
+    private boolean isPropertyRelated(PsiMethod psiMethod, @Nullable PropertyAccessorIndex propertyAccessorIndex) {
+        final boolean accessor = propertyAccessorIndex == null ? PropertyUtils.isPropertySetter(psiMethod) || PropertyUtils.isPropertyGetter(psiMethod)
+                : propertyAccessorIndex.isSetter(psiMethod) || propertyAccessorIndex.isGetter(psiMethod);
+        return accessor && !isGroovyLangProperty(psiMethod);
     }
 
     private void resolveFields(@NotNull PsiClass psiClass, TypeDictionary typeDictionary, int maxRecursionDepth) {
@@ -328,17 +442,33 @@ public class Type {
         return types;
     }
 
+    private static List<String> resolveEnumValues(@Nullable PsiClass psiClass, @Nullable Object typePsiElement) {
+        final LibraryTypeSummary librarySummary = psiClass != null && psiClass.isEnum() ? LibraryTypeSummaryCache.getInstance().findSummary(psiClass) : null;
+        return librarySummary == null ? JavaPsiTreeUtils.resolveEnumValues(psiClass, typePsiElement) : new ArrayList<>(librarySummary.getEnumConstants());
+    }
+
     private boolean hasModifier(PsiClass psiClass, String aStatic) {
         return psiClass != null && psiClass.getModifierList() != null && psiClass.getModifierList().hasExplicitModifier(aStatic);
     }
 
     /**
      * Find methods that are constructors
-     * @return Type's constructors sorted in revers order by no. of constructor params
+     * @return Type's constructors sorted in revers order by no. of constructor params. unmodifiable
      */
     public List<Method> findConstructors() {
+        List<Method> constructors = this.constructors;
+        if (constructors == null) {
+            constructors = Collections.unmodifiableList(collectConstructors());
+            if (dependenciesResolution == null) {
+                this.constructors = constructors;
+            }
+        }
+        return constructors;
+    }
+
+    private List<Method> collectConstructors() {
         List<Method> constructors = new ArrayList<>();
-        for (Method method : methods) {
+        for (Method method : getMethods()) {
             if (method.isConstructor() && !"java.lang.Object".equals(method.getOwnerClassCanonicalType())) {
                 constructors.add(method);
             }
@@ -349,6 +479,40 @@ public class Type {
         return constructors;
     }
 
+    /**
+     * @return true if this type has a method with the given method id
+     */
+    public boolean hasMethod(String methodId) {
+        return getMethodsIndex().methodsById.containsKey(methodId);
+    }
+
+    /**
+     * @return getter of the given property in this type. null if none
+     */
+    @Nullable
+    public Method findGetter(String propertyName) {
+        return getMethodsIndex().gettersByProperty.get(propertyName);
+    }
+
+    /**
+     * @return setter of the given property in this type. null if none
+     */
+    @Nullable
+    public Method findSetter(String propertyName) {
+        return getMethodsIndex().settersByProperty.get(propertyName);
+    }
+
+    private MethodsIndex getMethodsIndex() {
+        MethodsIndex methodsIndex = this.methodsIndex;
+        if (methodsIndex == null) {
+            methodsIndex = new MethodsIndex(getMethods());
+            if (dependenciesResolution == null) {
+                this.methodsIndex = methodsIndex;
+            }
+        }
+        return methodsIndex;
+    }
+
     /**
      *
      * @return true -if the class is a dependency injected class, according to the annotations attached to it
@@ -367,4 +531,37 @@ public class Type {
         return this.getMethods().stream().anyMatch(
             method -> method.isConstructor() && !"java.lang.Object".equals(method.getOwnerClassCanonicalType()));
     }
+
+    private static class MethodsIndex {
+        private final Map<String, Method> methodsById = new HashMap<>();
+        private final Map<String, Method> gettersByProperty = new HashMap<>();
+        private final Map<String, Method> settersByProperty = new HashMap<>();
+
+        private MethodsIndex(List<Method> methods) {
+            for (Method method : methods) {
+                methodsById.putIfAbsent(method.getMethodId(), method);
+                if (method.getPropertyName() != null) {
+                    if (method.isGetter()) {
+                        gettersByProperty.putIfAbsent(method.getPropertyName(), method);
+                    } else if (method.isSetter()) {
+                        settersByProperty.putIfAbsent(method.getPropertyName(), method);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class DependenciesResolution {
+        private final TypeDictionary typeDictionary;
+        private final int maxRecursionDepth;
+        private final PsiType psiType;
+        private final boolean shouldResolveAllMethods;
+
+        private DependenciesResolution(TypeDictionary typeDictionary, int maxRecursionDepth, PsiType psiType, boolean shouldResolveAllMethods) {
+            this.typeDictionary = typeDictionary;
+            this.maxRecursionDepth = maxRecursionDepth;
+            this.psiType = psiType;
+            this.shouldResolveAllMethods = shouldResolveAllMethods;
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.weirddev.testme.intellij.template.context.impl;
+
+import com.weirddev.testme.intellij.template.context.Method;
+import com.weirddev.testme.intellij.template.context.TestBuilder;
+import com.weirddev.testme.intellij.template.context.Type;
+
+import java.util.*;
+
+/**
+ * Constructors selected by test builders for initializing types. Shared by the test builders created by the same {@link LangTestBuilderFactory},
+ * so the constructor of a type used in nested object initializers is selected once per builder configuration.
+ */
+public class ConstructorSelectionCache {
+    private final Map<List<Object>, Map<Type, Optional<Method>>> selections = new HashMap<>();
+
+    /**
+     * @return constructors selected per type for the given builder configuration. types are matched by identity,
+     * since a type dictionary may hold several resolutions of a type by the same name
+     */
+    public Map<Type, Optional<Method>> getSelections(TestBuilder.ParamRole paramRole, Map<String, String> typesOverrides, boolean hasEmptyConstructor) {
+        final List<Object> configurationKey = Arrays.asList(paramRole, typesOverrides == null ? Collections.emptyMap() : new HashMap<>(typesOverrides), hasEmptyConstructor);
+        return selections.computeIfAbsent(configurationKey, key -> new IdentityHashMap<>());
+    }
+}
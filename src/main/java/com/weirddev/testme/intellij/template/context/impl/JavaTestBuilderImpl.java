@@ -1,14 +1,12 @@
 package com.weirddev.testme.intellij.template.context.impl;
 
-import com.intellij.ide.hierarchy.HierarchyBrowserBaseEx;
-import com.intellij.ide.hierarchy.type.SubtypesHierarchyTreeStructure;
-import com.intellij.ide.hierarchy.type.TypeHierarchyNodeDescriptor;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiClassType;
 import com.intellij.util.lang.JavaVersion;
+import com.weirddev.testme.intellij.cache.InheritorsCache;
 import com.weirddev.testme.intellij.generator.TestBuilderUtil;
 import com.weirddev.testme.intellij.template.FileTemplateConfig;
 import com.weirddev.testme.intellij.template.TypeDictionary;
@@ -19,8 +17,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Date: 2/16/2017
@@ -40,8 +40,15 @@ public class JavaTestBuilderImpl implements LangTestBuilder {
     @Nullable private final JavaVersion javaVersion;
     private final Map<String, String> defaultTypeValues;
     private final Map<String, String> typesOverrides;
+    private final ConstructorSelectionCache constructorSelectionCache;
+    private final Map<Boolean, Map<Type, Optional<Method>>> validConstructors = new HashMap<>();
 
     public JavaTestBuilderImpl(Method testedMethod, TestBuilder.ParamRole paramRole, FileTemplateConfig fileTemplateConfig, Module srcModule, TypeDictionary typeDictionary, JavaVersion javaVersion, Map<String, String> defaultTypeValues, Map<String, String> typesOverrides) {
+        this(testedMethod, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides, new ConstructorSelectionCache());
+    }
+
+    public JavaTestBuilderImpl(Method testedMethod, TestBuilder.ParamRole paramRole, FileTemplateConfig fileTemplateConfig, Module srcModule, TypeDictionary typeDictionary, JavaVersion javaVersion, Map<String, String> defaultTypeValues, Map<String, String> typesOverrides, ConstructorSelectionCache constructorSelectionCache) {
+        this.constructorSelectionCache = constructorSelectionCache;
         this.testedMethod = testedMethod;
         this.srcModule = srcModule;
         this.typeDictionary = typeDictionary;
@@ -124,7 +131,7 @@ public class JavaTestBuilderImpl implements LangTestBuilder {
             }
             else if (shouldContinueRecursion(paramNode)) {
                 final boolean hasEmptyConstructor = TestBuilderUtil.hasValidEmptyConstructor(resolvedType);
-                Method foundCtor = findValidConstructor(resolvedType, hasEmptyConstructor);
+                Method foundCtor = selectValidConstructor(resolvedType, hasEmptyConstructor);
                 if (foundCtor == null && !hasEmptyConstructor || !resolvedType.isDependenciesResolved()) {
                     testBuilder.append("null");
                 } else {
@@ -195,17 +202,14 @@ public class JavaTestBuilderImpl implements LangTestBuilder {
     private Type findChildType(Type type, int maxRecursionDepth) {
         final PsiClass psiClass = findClassInModule(type.getCanonicalName());
         if (psiClass != null) {
-            final Object[] childElements = new SubtypesHierarchyTreeStructure(srcModule.getProject(), psiClass, HierarchyBrowserBaseEx.SCOPE_PROJECT/*"All"*/).getChildElements(new TypeHierarchyNodeDescriptor(srcModule.getProject(),null,psiClass,true));
-            if (childElements.length > 0 && childElements.length <= fileTemplateConfig.getMaxNumOfConcreteCandidatesToReplaceInterfaceParam()) {
-                for (Object childElement : childElements) {
+            final List<String> childClassNames = InheritorsCache.getInstance(srcModule.getProject()).findDirectInheritors(psiClass);
+            if (childClassNames.size() > 0 && childClassNames.size() <= fileTemplateConfig.getMaxNumOfConcreteCandidatesToReplaceInterfaceParam()) {
+                for (String childClassName : childClassNames) {
                     Type childType = null;
-                    if (childElement instanceof TypeHierarchyNodeDescriptor hierarchyNodeDescriptor) {
-                        if (hierarchyNodeDescriptor.getPsiClass() instanceof PsiClass childPsiClass && childPsiClass.getQualifiedName() != null) {
-                            if (findClassInModule(childPsiClass.getQualifiedName()) != null) {
-                                final PsiClassType psiChildType = JavaPsiFacade.getInstance(srcModule.getProject()).getElementFactory().createType(childPsiClass);//todo verify behaviour with groovy classes
-                                childType = typeDictionary.getType(psiChildType, fileTemplateConfig.getMaxRecursionDepth(), true);
-                            }
-                        }
+                    final PsiClass childPsiClass = findClassInModule(childClassName);
+                    if (childPsiClass != null) {
+                        final PsiClassType psiChildType = JavaPsiFacade.getInstance(srcModule.getProject()).getElementFactory().createType(childPsiClass);//todo verify behaviour with groovy classes
+                        childType = typeDictionary.getType(psiChildType, fileTemplateConfig.getMaxRecursionDepth(), true);
                     }
                     if (childType != null) {
                         if (isConcreteType(childType)) {
@@ -255,6 +259,16 @@ public class JavaTestBuilderImpl implements LangTestBuilder {
             }
         }
     }
+    /**
+     * @return valid constructor found by {@link #findValidConstructor}. selected once per type and builder configuration
+     */
+    @Nullable
+    private Method selectValidConstructor(Type type, boolean hasEmptyConstructor) {
+        return validConstructors.computeIfAbsent(hasEmptyConstructor, hasEmptyCtor -> constructorSelectionCache.getSelections(paramRole, typesOverrides, hasEmptyCtor))
+                .computeIfAbsent(type, aType -> Optional.ofNullable(findValidConstructor(aType, hasEmptyConstructor)))
+                .orElse(null);
+    }
+
     /**
      * @param type Input assumption: type constructors are sorted in descending order by no of arguments
      */
@@ -404,12 +418,7 @@ public class JavaTestBuilderImpl implements LangTestBuilder {
     }
 
     private boolean isSharedType(Type ownerType, Method methodCalled) {
-        for (Method method : ownerType.getMethods()) {
-            if (method.getMethodId().equals(methodCalled.getMethodId())) {
-                return true;
-            }
-        }
-        return false;
+        return ownerType.hasMethod(methodCalled.getMethodId());
     }
 
     private boolean isConstructorArgumentUsed(Param propertyParam, String paramOwnerCanonicalName, MethodCall methodCall, Method method) {
@@ -17,6 +17,7 @@ public class LangTestBuilderFactory {
     private final TypeDictionary typeDictionary;
     @Nullable
     private final JavaVersion javaVersion;
+    private final ConstructorSelectionCache constructorSelectionCache = new ConstructorSelectionCache();
 
     public LangTestBuilderFactory(Language language, Module srcModule, FileTemplateConfig fileTemplateConfig, TypeDictionary typeDictionary, @Nullable JavaVersion javaVersion) {
         this.language = language;
@@ -30,11 +31,11 @@ public class LangTestBuilderFactory {
     public LangTestBuilder createTestBuilder(Method method, TestBuilder.ParamRole paramRole, Map<String, String> defaultTypeValues, Map<String, String> typesOverrides) {
         LangTestBuilder langTestBuilder;
         if (language == Language.Scala) {
-            langTestBuilder = new ScalaTestBuilder(method, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides);
+            langTestBuilder = new ScalaTestBuilder(method, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides, constructorSelectionCache);
         } else if (language == Language.Groovy) {
-            langTestBuilder = new GroovyTestBuilderImpl(method, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides);
+            langTestBuilder = new GroovyTestBuilderImpl(method, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides, constructorSelectionCache);
         } else {
-            langTestBuilder = new JavaTestBuilderImpl(method, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides);
+            langTestBuilder = new JavaTestBuilderImpl(method, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides, constructorSelectionCache);
         }
         return langTestBuilder;
     }
@@ -23,6 +23,10 @@ public class ScalaTestBuilder extends JavaTestBuilderImpl {
         super(testedMethod, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides);
     }
 
+    public ScalaTestBuilder(Method testedMethod, TestBuilder.ParamRole paramRole, FileTemplateConfig fileTemplateConfig, Module srcModule, TypeDictionary typeDictionary, JavaVersion javaVersion, Map<String, String> defaultTypeValues, Map<String, String> typesOverrides, ConstructorSelectionCache constructorSelectionCache) {
+        super(testedMethod, paramRole, fileTemplateConfig, srcModule, typeDictionary, javaVersion, defaultTypeValues, typesOverrides, constructorSelectionCache);
+    }
+
     @NotNull
     @Override
     protected String resolveInitializerKeyword(Type type, Method foundCtor) {
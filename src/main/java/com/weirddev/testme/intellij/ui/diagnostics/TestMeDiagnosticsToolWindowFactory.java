@@ -0,0 +1,126 @@
+package com.weirddev.testme.intellij.ui.diagnostics;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.*;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.table.JBTable;
+import com.weirddev.testme.intellij.cache.LruCache;
+import com.weirddev.testme.intellij.diagnostics.GenerationMetrics;
+import com.weirddev.testme.intellij.diagnostics.GenerationMetricsService;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.table.DefaultTableModel;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "TestMe Diagnostics" tool window - per phase timings and counters of recent test generations
+ */
+public class TestMeDiagnosticsToolWindowFactory implements ToolWindowFactory, DumbAware {
+    private static final Logger LOG = Logger.getInstance(TestMeDiagnosticsToolWindowFactory.class.getName());
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        final GenerationMetricsService metricsService = GenerationMetricsService.getInstance(project);
+        final DefaultTableModel tableModel = new DefaultTableModel(buildColumnNames(), 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        final SimpleToolWindowPanel panel = new SimpleToolWindowPanel(true, true);
+        panel.setContent(ScrollPaneFactory.createScrollPane(new JBTable(tableModel)));
+        final DefaultActionGroup actionGroup = new DefaultActionGroup();
+        actionGroup.add(new DumbAwareAction("Export JSON", "Export metrics of recent test generations as JSON", AllIcons.ToolbarDecorator.Export) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                exportJson(project, metricsService);
+            }
+        });
+        actionGroup.add(new DumbAwareAction("Clear", "Clear recorded metrics", AllIcons.Actions.GC) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                metricsService.clear();
+            }
+        });
+        final ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("TestMeDiagnostics", actionGroup, true);
+        toolbar.setTargetComponent(panel);
+        panel.setToolbar(toolbar.getComponent());
+
+        final Content content = ContentFactory.getInstance().createContent(panel, "", false);
+        toolWindow.getContentManager().addContent(content);
+        final Runnable refresh = () -> ApplicationManager.getApplication().invokeLater(() -> reloadTable(tableModel, metricsService.getGenerationMetrics()), project.getDisposed());
+        metricsService.addListener(refresh);
+        Disposer.register(content, () -> metricsService.removeListener(refresh));
+        reloadTable(tableModel, metricsService.getGenerationMetrics());
+    }
+
+    private static Object[] buildColumnNames() {
+        final List<String> columnNames = new ArrayList<>();
+        columnNames.add("Test class");
+        columnNames.add("Total ms");
+        Arrays.stream(GenerationMetrics.PHASES).map(phase -> phase + " ms").forEach(columnNames::add);
+        columnNames.addAll(Arrays.asList(GenerationMetrics.COUNTERS));
+        columnNames.add("Cache hit ratios");
+        return columnNames.toArray();
+    }
+
+    private static void reloadTable(DefaultTableModel tableModel, List<GenerationMetrics> generationMetrics) {
+        tableModel.setRowCount(0);
+        for (GenerationMetrics metrics : generationMetrics) {
+            final List<Object> row = new ArrayList<>();
+            row.add(metrics.isFailed() ? metrics.getTestClass() + " (failed)" : metrics.getTestClass());
+            row.add(metrics.getTotalMillis());
+            for (String phase : GenerationMetrics.PHASES) {
+                final long phaseMillis = metrics.getPhaseMillis(phase);
+                row.add(phaseMillis < 0 ? "" : phaseMillis);
+            }
+            final Map<String, Long> counters = metrics.getCounters();
+            for (String counter : GenerationMetrics.COUNTERS) {
+                row.add(counters.getOrDefault(counter, 0L));
+            }
+            final StringBuilder cacheHitRatios = new StringBuilder();
+            for (Map.Entry<String, LruCache.CacheStats> cacheStats : metrics.getCacheStats().entrySet()) {
+                final LruCache.CacheStats stats = cacheStats.getValue();
+                cacheHitRatios.append(cacheHitRatios.length() == 0 ? "" : ", ").append(cacheStats.getKey()).append(": ")
+                        .append(stats.getRequests() == 0 ? 0 : 100 * stats.getHits() / stats.getRequests()).append("%");
+            }
+            row.add(cacheHitRatios.toString());
+            tableModel.addRow(row.toArray());
+        }
+    }
+
+    private static void exportJson(Project project, GenerationMetricsService metricsService) {
+        final FileSaverDescriptor descriptor = new FileSaverDescriptor("Export TestMe Diagnostics", "Export metrics of recent test generations", "json");
+        final VirtualFileWrapper fileWrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project).save("testme-diagnostics.json");
+        if (fileWrapper == null) {
+            return;
+        }
+        try {
+            Files.writeString(fileWrapper.getFile().toPath(), metricsService.exportJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("failed exporting TestMe diagnostics", e);
+            Messages.showErrorDialog(project, "Failed exporting diagnostics: " + e.getMessage(), "TestMe Diagnostics");
+        }
+    }
+}
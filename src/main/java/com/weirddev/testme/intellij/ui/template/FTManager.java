@@ -10,6 +10,7 @@ import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.text.StringUtilRt;
 import com.intellij.util.io.PathKt;
+import com.weirddev.testme.intellij.generator.TestTemplateCompilationCache;
 import com.weirddev.testme.intellij.template.TemplateDescriptor;
 import com.weirddev.testme.intellij.template.TemplateRegistry;
 import com.weirddev.testme.intellij.ui.model.TestMeFileTemplate;
@@ -268,6 +269,7 @@ public class FTManager {
   }
 
   private void saveTemplates(boolean removeDeleted) {
+    TestTemplateCompilationCache.clear();
     final Set<String> allNames = new THashSet<>();
     final Path configRoot = getConfigRoot();
     final Map<String, Path> templatesOnDisk = new THashMap<>();
@@ -1,6 +1,7 @@
 package com.weirddev.testme.intellij.utils;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
 import com.weirddev.testme.intellij.common.utils.LanguageUtils;
 import com.weirddev.testme.intellij.resolvers.to.MethodCallArg;
 import com.weirddev.testme.intellij.resolvers.to.ResolvedMethodCall;
@@ -9,9 +10,7 @@ import com.weirddev.testme.intellij.scala.resolvers.ScalaPsiTreeUtils;
 import com.weirddev.testme.intellij.scala.resolvers.ScalaTypeUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 /**
  * Date: 15/05/2017
@@ -51,6 +50,24 @@ public class JavaPsiTreeUtils {
         }
         return resolvedReferences;
     }
+    /**
+     * @return fields assigned with a parameter of the given method, by parameter. collected in a single pass over the assignments in the method
+     */
+    @NotNull
+    public static Map<PsiParameter, List<PsiField>> findFieldsAssignedFromParams(PsiMethod psiMethod) {
+        final Map<PsiParameter, List<PsiField>> assignedFields = new HashMap<>();
+        final List<PsiParameter> parameters = Arrays.asList(psiMethod.getParameterList().getParameters());
+        for (PsiAssignmentExpression psiAssignmentExpression : PsiTreeUtil.findChildrenOfType(psiMethod, PsiAssignmentExpression.class)) {
+            final PsiExpression rExpression = PsiUtil.skipParenthesizedExprDown(psiAssignmentExpression.getRExpression());
+            if (rExpression instanceof PsiReferenceExpression psiReferenceExpression && psiReferenceExpression.resolve() instanceof PsiParameter psiParameter && parameters.contains(psiParameter)) {
+                final PsiReference reference = psiAssignmentExpression.getLExpression().getReference();
+                if (reference != null && reference.resolve() instanceof PsiField psiField) {
+                    assignedFields.computeIfAbsent(psiParameter, parameter -> new ArrayList<>()).add(psiField);
+                }
+            }
+        }
+        return assignedFields;
+    }
     private static PsiType resolveOwnerType(PsiElement psiElement) {
         boolean dotAppeared = false;
         for(PsiElement prevSibling  = psiElement.getPrevSibling();prevSibling!=null;prevSibling=prevSibling.getPrevSibling()) {
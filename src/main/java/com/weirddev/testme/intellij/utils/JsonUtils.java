@@ -0,0 +1,37 @@
+package com.weirddev.testme.intellij.utils;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Helpers of the hand written JSON reports of test generation
+ */
+public class JsonUtils {
+
+    /**
+     * @return the given value as a JSON string literal, with quotes, backslashes and all control characters escaped. null as JSON null
+     */
+    public static String quote(@Nullable String value) {
+        if (value == null) {
+            return "null";
+        }
+        final StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.weirddev.testme.intellij.utils;
+
+import com.intellij.ide.fileTemplates.FileTemplate;
+
+import java.util.Map;
+
+/**
+ * test template merged with its context properties. the text of the test file to create
+ *
+ * @see TestFileTemplateUtil#mergeTemplate
+ */
+public class MergedTestTemplate {
+    private final FileTemplate template;
+    private final String fileName;
+    private final String text;
+    private final Map<String, Object> properties;
+
+    public MergedTestTemplate(FileTemplate template, String fileName, String text, Map<String, Object> properties) {
+        this.template = template;
+        this.fileName = fileName;
+        this.text = text;
+        this.properties = properties;
+    }
+
+    public FileTemplate getTemplate() {
+        return template;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+}
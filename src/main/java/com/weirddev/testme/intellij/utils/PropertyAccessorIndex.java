@@ -0,0 +1,62 @@
+package com.weirddev.testme.intellij.utils;
+
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Property accessors of a class - getters and setters, including inherited ones, and the properties of setters declared by the class itself.
+ * Classified once per class and cached until PSI changes, so checking the methods of a class for accessors is not repeated per field or per method.
+ */
+public class PropertyAccessorIndex {
+    private final Set<PsiMethod> getters = new HashSet<>();
+    private final Set<PsiMethod> setters = new HashSet<>();
+    private final Set<String> declaredSetterProperties = new HashSet<>();
+
+    public static PropertyAccessorIndex of(@NotNull PsiClass psiClass) {
+        if (!psiClass.isPhysical() || psiClass.getContainingFile() == null) {
+            return new PropertyAccessorIndex(psiClass);
+        }
+        return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(new PropertyAccessorIndex(psiClass),
+                PsiModificationTracker.getInstance(psiClass.getProject()).forLanguages(language -> true), ProjectRootModificationTracker.getInstance(psiClass.getProject())));
+    }
+
+    private PropertyAccessorIndex(PsiClass psiClass) {
+        final Set<PsiMethod> declaredMethods = new HashSet<>(Arrays.asList(psiClass.getMethods()));
+        for (PsiMethod psiMethod : psiClass.getAllMethods()) {
+            if (PropertyUtils.isPropertySetter(psiMethod)) {
+                setters.add(psiMethod);
+                if (declaredMethods.contains(psiMethod)) {
+                    final String propertyName = PropertyUtils.getAccessorPropertyName(psiMethod, true);
+                    if (propertyName != null) {
+                        declaredSetterProperties.add(propertyName);
+                    }
+                }
+            } else if (PropertyUtils.isPropertyGetter(psiMethod)) {
+                getters.add(psiMethod);
+            }
+        }
+    }
+
+    public boolean isGetter(PsiMethod psiMethod) {
+        return getters.contains(psiMethod);
+    }
+
+    public boolean isSetter(PsiMethod psiMethod) {
+        return setters.contains(psiMethod);
+    }
+
+    /**
+     * @return true if a setter of the given property is declared by the class itself
+     */
+    public boolean hasDeclaredSetter(String propertyName) {
+        return declaredSetterProperties.contains(propertyName);
+    }
+}
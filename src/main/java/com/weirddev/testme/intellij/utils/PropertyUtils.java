@@ -4,6 +4,7 @@ import com.intellij.psi.PsiMethod;
 import com.intellij.psi.util.PropertyUtil;
 import com.weirddev.testme.intellij.groovy.resolvers.GroovyPropertyUtil;
 import com.weirddev.testme.intellij.common.utils.LanguageUtils;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Created with IntelliJ IDEA.
@@ -39,4 +40,17 @@ public class PropertyUtils
             return PropertyUtil.isSimplePropertyGetter(psiMethod) && PropertyUtil.isSimpleGetter(psiMethod);
         }
     }
+
+    /**
+     * @return name of the property accessed by the given getter or setter
+     */
+    @Nullable
+    public static String getAccessorPropertyName(PsiMethod psiMethod, boolean setter) {
+        if (LanguageUtils.isGroovy(psiMethod.getLanguage())) {
+            return setter ? GroovyPropertyUtil.getSetterPropertyName(psiMethod) : GroovyPropertyUtil.getGetterPropertyName(psiMethod);
+        }
+        else {
+            return PropertyUtil.getPropertyName(psiMethod);
+        }
+    }
 }
@@ -12,6 +12,7 @@ import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.*;
 import com.weirddev.testme.intellij.common.utils.LanguageUtils;
+import com.weirddev.testme.intellij.generator.TestTemplateCompilationCache;
 import com.weirddev.testme.intellij.groovy.resolvers.GroovyPropertyUtil;
 import com.weirddev.testme.intellij.scala.resolvers.ScalaTypeUtils;
 import com.weirddev.testme.intellij.template.FileTemplateContext;
@@ -25,12 +26,24 @@ import java.util.Properties;
 /**
  * create test with template but not generate a real file to directory
  * see also FileTemplateUtil.createFromTemplate
+ * <p>template merging is separated from psi creation, so the costly merge can run in a background read action</p>
+ * <p>templates are merged by {@link TestTemplateCompilationCache}, so a template is parsed once per content</p>
  *
  * @author huangliang
  */
 public class TestFileTemplateUtil {
 
     public static @NotNull PsiFile createFromTemplate(final @NotNull FileTemplate template, FileTemplateContext context,
+        @Nullable Map<String, Object> propsMap, final @NotNull PsiDirectory directory,
+        @Nullable ClassLoader classLoader) throws Exception {
+        return createFromMergedTemplate(context, mergeTemplate(template, context, propsMap, directory, classLoader));
+    }
+
+    /**
+     * merge template with its properties without creating any psi element. does not require a write action
+     * see also FileTemplateUtil.createFromTemplate
+     */
+    public static @NotNull MergedTestTemplate mergeTemplate(final @NotNull FileTemplate template, FileTemplateContext context,
         @Nullable Map<String, Object> propsMap, final @NotNull PsiDirectory directory,
         @Nullable ClassLoader classLoader) throws Exception {
         Project project = directory.getProject();
@@ -67,8 +80,7 @@ public class TestFileTemplateUtil {
         }
 
         //Set escaped references to dummy values to remove leading "\" (if not already explicitly set)
-        String[] dummyRefs =
-            FileTemplateUtil.calculateAttributes(template.getText(), propsMap, true, directory.getProject());
+        String[] dummyRefs = TestTemplateCompilationCache.calculateAttributes(template, propsMap, directory.getProject());
         for (String dummyRef : dummyRefs) {
             propsMap.put(dummyRef, "");
         }
@@ -79,10 +91,26 @@ public class TestFileTemplateUtil {
         Map<String, Object> props_ = propsMap;
         String mergedText = ClassLoaderUtil.computeWithClassLoader(
             classLoader != null ? classLoader : FileTemplateUtil.class.getClassLoader(),
-            () -> template.getText(props_));
+            () -> TestTemplateCompilationCache.mergeTemplate(template, props_));
         String templateText = StringUtil.convertLineSeparators(mergedText);
-        PsiFileFactory fileFactory = PsiFileFactory.getInstance(project);
-        return fileFactory.createFileFromText(fileName, getLanguageFileType(context.getSrcClass().getLanguage()), templateText);
+        return new MergedTestTemplate(template, fileName, templateText, propsMap);
+    }
+
+    /**
+     * create test psi file from a merged template, without adding it to any directory
+     */
+    public static @NotNull PsiFile createFromMergedTemplate(FileTemplateContext context, @NotNull MergedTestTemplate mergedTemplate) {
+        PsiFileFactory fileFactory = PsiFileFactory.getInstance(context.getProject());
+        return fileFactory.createFileFromText(mergedTemplate.getFileName(), getLanguageFileType(context.getSrcClass().getLanguage()), mergedTemplate.getText());
+    }
+
+    /**
+     * create test psi element from a merged template in target directory. should be called in a write action
+     */
+    public static @NotNull PsiElement createInDirectoryFromMergedTemplate(@NotNull MergedTestTemplate mergedTemplate, final @NotNull PsiDirectory directory) {
+        final CreateFromTemplateHandler handler = FileTemplateUtil.findHandler(mergedTemplate.getTemplate());
+        return handler.createFromTemplate(directory.getProject(), directory, mergedTemplate.getFileName(), mergedTemplate.getTemplate(),
+            mergedTemplate.getText(), mergedTemplate.getProperties());
     }
 
     public static FileType getLanguageFileType(com.intellij.lang.Language language) {
@@ -38,7 +38,7 @@ public class TestSubjectResolverUtils {
         }
     }
 
-    private static boolean canBeTested(PsiElement element) {
+    public static boolean canBeTested(PsiElement element) {
         if (element == null) return false;
         if (TestFinderHelper.findSourceElement(element) == null) return false;
         if (TestFinderHelper.isTest(element)) return false;
@@ -0,0 +1,70 @@
+package com.weirddev.testme.intellij.builder
+
+import com.weirddev.testme.intellij.template.context.Method
+import com.weirddev.testme.intellij.template.context.MethodCall
+import spock.lang.Specification
+
+class MethodReferencesBuilderTest extends Specification {
+
+    def "resolve Method References includes calls of called methods of same owner up to max depth"() {
+        given:
+        def methods = (0..3).collect { createMethod("Foo", it) }
+        addCall(methods[0], createMethod("Foo", 1))
+        addCall(methods[1], createMethod("Foo", 2))
+        addCall(methods[2], createMethod("Foo", 3))
+
+        when:
+        new MethodReferencesBuilder().resolveMethodReferences(maxMethodCallsDepth, methods)
+
+        then:
+        calledMethodNames(methods[0]) == expectedCalledMethods as Set
+
+        where:
+        maxMethodCallsDepth | expectedCalledMethods
+        0                   | ["method1"]
+        1                   | ["method1", "method2"]
+        2                   | ["method1", "method2", "method3"]
+        9                   | ["method1", "method2", "method3"]
+    }
+
+    def "resolve Method References refers calls to resolved methods"() {
+        given:
+        def methods = (0..1).collect { createMethod("Foo", it) }
+        addCall(methods[0], createMethod("Foo", 1))
+
+        when:
+        new MethodReferencesBuilder().resolveMethodReferences(2, methods)
+
+        then:
+        methods[0].methodCalls.size() == 1
+        methods[0].methodCalls[0].method.is(methods[1])
+    }
+
+    def "resolve Method References does not include calls of methods of other owners"() {
+        given:
+        def methods = [createMethod("Foo", 0), createMethod("Bar", 1)]
+        addCall(methods[0], createMethod("Bar", 1))
+        addCall(methods[1], createMethod("Foo", 0))
+
+        when:
+        new MethodReferencesBuilder().resolveMethodReferences(4, methods)
+
+        then:
+        calledMethodNames(methods[0]) == ["method1"] as Set
+        calledMethodNames(methods[1]) == ["method0"] as Set
+    }
+
+    private static Set<String> calledMethodNames(Method method) {
+        method.methodCalls.collect { it.method.name } as Set
+    }
+
+    private static void addCall(Method method, Method calledMethod) {
+        method.methodCalls.add(new MethodCall(calledMethod, []))
+    }
+
+    private static Method createMethod(String ownerClass, int index) {
+        def methodName = "method" + index
+        new Method(ownerClass + "." + methodName + "()", methodName, null, ownerClass, [], null, false, false, false, true, false, false,
+                false, false, false, false, false, false, false, false, null, true, false, true)
+    }
+}
@@ -0,0 +1,120 @@
+package com.weirddev.testme.intellij.cache
+
+import com.intellij.openapi.progress.ProcessCanceledException
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ConcurrentLruCacheTest extends Specification {
+
+    def "get Or Compute returns cached value"() {
+        given:
+        def cache = new ConcurrentLruCache<String, Integer>(10)
+
+        when:
+        def first = cache.getOrCompute("a", { 1 })
+        def second = cache.getOrCompute("a", { 2 })
+
+        then:
+        first == 1
+        second == 1
+        cache.getUsageStats().hits == 1
+        cache.getUsageStats().misses == 1
+        cache.getUsageStats().size == 1
+    }
+
+    def "evicts least recently used entries beyond max size"() {
+        given:
+        def cache = new ConcurrentLruCache<Integer, Integer>(4, 1)
+
+        when:
+        (1..4).each { i -> cache.getOrCompute(i, { i }) }
+        cache.getOrCompute(1, { -1 })
+        cache.getOrCompute(5, { 5 })
+
+        then:
+        cache.size() == 4
+        cache.getUsageStats().evictions == 1
+        cache.getOrCompute(1, { -1 }) == 1
+        cache.getOrCompute(2, { -2 }) == -2
+    }
+
+    def "value is computed once per key by concurrent callers"() {
+        given:
+        def cache = new ConcurrentLruCache<String, Integer>(10)
+        def computations = new AtomicInteger()
+        def start = new CountDownLatch(1)
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def futures = (1..8).collect {
+            executor.submit({
+                start.await()
+                cache.getOrCompute("key", {
+                    Thread.sleep(50)
+                    computations.incrementAndGet()
+                })
+            } as java.util.concurrent.Callable<Integer>)
+        }
+        start.countDown()
+        def results = futures.collect { it.get(5, TimeUnit.SECONDS) }
+        executor.shutdown()
+
+        then:
+        computations.get() == 1
+        results.every { it == 1 }
+    }
+
+    def "failed computation is not cached"() {
+        given:
+        def cache = new ConcurrentLruCache<String, Integer>(10)
+
+        when:
+        cache.getOrCompute("a", { throw new IllegalStateException("boom") })
+
+        then:
+        thrown(IllegalStateException)
+        cache.getOrCompute("a", { 3 }) == 3
+    }
+
+    def "waiter computes value itself when computing thread is cancelled"() {
+        given:
+        def cache = new ConcurrentLruCache<String, Integer>(10)
+        def loading = new CountDownLatch(1)
+        def executor = Executors.newSingleThreadExecutor()
+
+        when:
+        def cancelled = executor.submit({
+            cache.getOrCompute("key", {
+                loading.countDown()
+                Thread.sleep(50)
+                throw new ProcessCanceledException()
+            })
+        } as java.util.concurrent.Callable<Integer>)
+        loading.await(5, TimeUnit.SECONDS)
+        def result = cache.getOrCompute("key", { 9 })
+        def loaderFailure = null
+        try {
+            cancelled.get(5, TimeUnit.SECONDS)
+        } catch (java.util.concurrent.ExecutionException e) {
+            loaderFailure = e.cause
+        }
+        executor.shutdown()
+
+        then:
+        result == 9
+        loaderFailure instanceof ProcessCanceledException
+        cache.getOrCompute("key", { -1 }) == 9
+    }
+
+    def "re-entrant computation of same key does not dead lock"() {
+        given:
+        def cache = new ConcurrentLruCache<String, Integer>(10)
+
+        expect:
+        cache.getOrCompute("a", { cache.getOrCompute("a", { 7 }) + 1 }) == 8
+    }
+}
@@ -0,0 +1,139 @@
+package com.weirddev.testme.intellij.cache
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+class LibraryTypeSummariesTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder = new TemporaryFolder()
+
+    private Path getSummariesDir() {
+        tempFolder.root.toPath()
+    }
+
+    def "summaries written to a file are read back once reopened"() {
+        given:
+        def summariesFile = summariesDir.resolve("summaries.bin")
+        def librarySummaries = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+
+        when:
+        librarySummaries.add(summary("com.example.Foo", "getName"))
+        librarySummaries.add(summary("com.example.Bar", "setName", "jar:///lib/base.jar!/": "jar:/lib/base.jar|10|20"))
+        librarySummaries.flush()
+        def reopened = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+
+        then:
+        reopened.size() == 2
+        with(reopened.get("com.example.Foo")) {
+            methodsCount == 2
+            getMethodId(1) == "com.example.Foo#getName()"
+            getMethodOwner(1) == "com.example.Foo"
+            hasAccessorSignature(1)
+            isConstructor(0)
+            enumConstants == ["A", "B"]
+            getSupertypeArchiveKeys().isEmpty()
+            !isValidated()
+        }
+        reopened.get("com.example.Bar").getSupertypeArchiveKeys() == ["jar:///lib/base.jar!/": "jar:/lib/base.jar|10|20"]
+        reopened.get("com.example.Baz") == null
+    }
+
+    def "summaries added once reopened are appended"() {
+        given:
+        def summariesFile = summariesDir.resolve("summaries.bin")
+        def librarySummaries = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+        librarySummaries.add(summary("com.example.Foo", "getName"))
+        librarySummaries.flush()
+
+        when:
+        def reopened = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+        reopened.add(summary("com.example.Bar", "getName"))
+        reopened.flush()
+
+        then:
+        Files.size(summariesFile) == sizeOf(summary("com.example.Foo", "getName"), summary("com.example.Bar", "getName"))
+        new LibraryTypeSummaryCache.LibrarySummaries(summariesFile).size() == 2
+    }
+
+    def "file is compacted once a summary is replaced"() {
+        given:
+        def summariesFile = summariesDir.resolve("summaries.bin")
+        def librarySummaries = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+        librarySummaries.add(summary("com.example.Foo", "getName"))
+        librarySummaries.add(summary("com.example.Bar", "getName"))
+        librarySummaries.flush()
+
+        when:
+        def reopened = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+        reopened.add(summary("com.example.Foo", "getLongerName"))
+        reopened.flush()
+
+        then:
+        Files.size(summariesFile) == sizeOf(summary("com.example.Bar", "getName"), summary("com.example.Foo", "getLongerName"))
+        with(new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)) {
+            size() == 2
+            get("com.example.Foo").getMethodId(1) == "com.example.Foo#getLongerName()"
+            get("com.example.Bar").getMethodId(1) == "com.example.Bar#getName()"
+        }
+        !Files.exists(summariesDir.resolve("summaries.bin.tmp"))
+    }
+
+    def "partially written summary is dropped once the file is rewritten"() {
+        given:
+        def summariesFile = summariesDir.resolve("summaries.bin")
+        def librarySummaries = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+        librarySummaries.add(summary("com.example.Foo", "getName"))
+        librarySummaries.flush()
+        Files.write(summariesFile, [0, 0, 0, 100, 1, 2] as byte[], StandardOpenOption.APPEND)
+
+        when:
+        def reopened = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+        reopened.add(summary("com.example.Bar", "getName"))
+        reopened.flush()
+
+        then:
+        Files.size(summariesFile) == sizeOf(summary("com.example.Foo", "getName"), summary("com.example.Bar", "getName"))
+        with(new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)) {
+            size() == 2
+            get("com.example.Foo").getMethodId(1) == "com.example.Foo#getName()"
+        }
+    }
+
+    def "file of an unknown format is rewritten"() {
+        given:
+        def summariesFile = summariesDir.resolve("summaries.bin")
+        Files.write(summariesFile, [1, 2, 3, 4, 5, 6, 7, 8, 9] as byte[])
+
+        when:
+        def librarySummaries = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+        librarySummaries.add(summary("com.example.Foo", "getName"))
+        librarySummaries.flush()
+
+        then:
+        Files.size(summariesFile) == sizeOf(summary("com.example.Foo", "getName"))
+        new LibraryTypeSummaryCache.LibrarySummaries(summariesFile).get("com.example.Foo") != null
+    }
+
+    private static LibraryTypeSummary summary(Map<String, String> supertypeArchiveKeys = [:], String qualifiedName, String accessorName) {
+        new LibraryTypeSummary(qualifiedName, new TreeMap<>(supertypeArchiveKeys), ["A", "B"], [qualifiedName + "#Foo()", qualifiedName + "#" + accessorName + "()"] as String[],
+                [qualifiedName, qualifiedName] as String[], [1, 2] as byte[])
+    }
+
+    /**
+     * @return size of a summaries file holding just the given summaries
+     */
+    private long sizeOf(LibraryTypeSummary... summaries) {
+        def summariesFile = Files.createTempFile(summariesDir, "expected", ".bin")
+        Files.delete(summariesFile)
+        def librarySummaries = new LibraryTypeSummaryCache.LibrarySummaries(summariesFile)
+        summaries.each { librarySummaries.add(it) }
+        librarySummaries.flush()
+        Files.size(summariesFile)
+    }
+}
@@ -0,0 +1,39 @@
+package com.weirddev.testme.intellij.headless
+
+import com.intellij.psi.PsiClass
+import com.weirddev.testme.intellij.action.helpers.GeneratedClassNameResolver
+import com.weirddev.testme.intellij.generator.BulkGenerationReport
+import com.weirddev.testme.intellij.generator.BulkTestMeGenerator
+import com.weirddev.testme.intellij.generator.TestMeGenerator
+import com.weirddev.testme.intellij.template.FileTemplateContext
+import org.junit.Test
+import org.mockito.Mockito
+
+class TestMeGenerateStarterTest {
+
+    def testMeGenerator = Mockito.mock(TestMeGenerator)
+    def context = Mockito.mock(FileTemplateContext)
+    def srcClass = Mockito.mock(PsiClass)
+    def report = new BulkGenerationReport()
+
+    @Test
+    void testExitCodeWhenTemplateRenderingThrows() {
+        Mockito.when(context.getSrcClass()).thenReturn(srcClass)
+        Mockito.when(srcClass.isValid()).thenReturn(true)
+        Mockito.when(testMeGenerator.mergeNewTestTemplate(context)).thenThrow(new IllegalStateException("Encountered \"#end\" at TestMe.vm[line 12]"))
+        assert new BulkTestMeGenerator(testMeGenerator, new GeneratedClassNameResolver()).mergeTestTemplate(context, "com.example.Foo", report) == null
+        assert report.getFailed() == 1
+        assert report.getSkipped() == 0
+        assert TestMeGenerateStarter.exitCode(report) == 1
+    }
+
+    @Test
+    void testExitCodeWhenTestClassExists() {
+        Mockito.when(context.getSrcClass()).thenReturn(srcClass)
+        Mockito.when(srcClass.isValid()).thenReturn(true)
+        Mockito.when(testMeGenerator.mergeNewTestTemplate(context)).thenReturn(null)
+        assert new BulkTestMeGenerator(testMeGenerator, new GeneratedClassNameResolver()).mergeTestTemplate(context, "com.example.Foo", report) == null
+        assert report.getSkipped() == 1
+        assert TestMeGenerateStarter.exitCode(report) == 0
+    }
+}
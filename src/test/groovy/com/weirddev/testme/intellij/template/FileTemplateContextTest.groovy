@@ -0,0 +1,34 @@
+package com.weirddev.testme.intellij.template
+
+import com.weirddev.testme.intellij.diagnostics.GenerationMetrics
+import com.weirddev.testme.intellij.ui.customizedialog.FileTemplateCustomization
+import org.junit.Test
+
+class FileTemplateContextTest {
+    @Test
+    void testTestedMethodIdsOfCustomizedTest() {
+        def customization = new FileTemplateCustomization([], ['com.example.Foo#bar(int)', 'com.example.Foo#baz()'], true)
+        def context = new FileTemplateContext(null, null, null, 'FooTest', null, null, null, null, null, null, customization, null, [])
+        assert context.testedMethodIds == ['com.example.Foo#bar(int)', 'com.example.Foo#baz()'] as Set
+    }
+
+    @Test
+    void testTestedMethodIdsOfWholeClass() {
+        def customization = new FileTemplateCustomization([], [], false)
+        def context = new FileTemplateContext(null, null, null, 'FooTest', null, null, null, null, null, null, customization, null, [])
+        assert context.testedMethodIds == null
+    }
+
+    @Test
+    void testGenerationMetricsStartedOverPerAttempt() {
+        def context = new FileTemplateContext(null, null, null, 'FooTest', null, null, null, null, null, null, null, null, [])
+        context.generationMetrics.addPhaseTime(GenerationMetrics.TYPE_GRAPH, 10)
+        context.generationMetrics.markFailed()
+        def metrics = context.startGenerationMetrics()
+        metrics.addPhaseTime(GenerationMetrics.TYPE_GRAPH, 5)
+        assert context.generationMetrics.is(metrics)
+        assert context.generationMetrics.getPhaseMillis(GenerationMetrics.TYPE_GRAPH) == 5
+        assert !context.generationMetrics.failed
+        assert context.generationMetrics.testClass == 'FooTest'
+    }
+}
@@ -0,0 +1,43 @@
+package com.weirddev.testme.intellij.template
+
+import org.junit.Test
+
+class TypeGraphBudgetTest {
+
+    @Test
+    void testTrackersOfGenerationsAreIndependent() {
+        def budget = new TypeGraphBudget(0, 10)
+        def exhausted = budget.start(4)
+        exhausted.truncateFrom(2)
+        def fresh = budget.start(4)
+        assert exhausted.isTruncated(2)
+        assert !fresh.isTruncated(2)
+        assert !fresh.isTruncated(0)
+    }
+
+    @Test
+    void testTruncatesFromLevelOnward() {
+        def tracker = new TypeGraphBudget(0, 10).start(4)
+        tracker.truncateFrom(2)
+        assert !tracker.isTruncated(4)
+        assert !tracker.isTruncated(3)
+        assert tracker.isTruncated(2)
+        assert tracker.isTruncated(1)
+    }
+
+    @Test
+    void testTestSubjectIsNeverTruncated() {
+        def tracker = new TypeGraphBudget(0, 10).start(4)
+        tracker.truncateFrom(0)
+        assert !tracker.isTruncated(4)
+        assert tracker.isTruncated(3)
+    }
+
+    @Test
+    void testExhaustedByTypesCount() {
+        def tracker = new TypeGraphBudget(0, 10).start(4)
+        assert !tracker.isExhausted(9)
+        assert tracker.isExhausted(10)
+        assert !TypeGraphBudget.UNLIMITED.start(4).isExhausted(Integer.MAX_VALUE)
+    }
+}
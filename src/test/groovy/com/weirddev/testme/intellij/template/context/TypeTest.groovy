@@ -18,6 +18,22 @@ class TypeTest{
         assert new Type("java.util.Set", "Set", "java.util", false, false, false, false, 0, false, null)== typeFromCanonicalName("java.util.Set<com.example.foes.Ice>")
     }
 
+    @Test
+    void testFindAccessorsByPropertyName() {
+        def type = typeFromCanonicalName("com.example.foes.Pokemon")
+        type.methods.addAll([accessor("getName", "name", false), accessor("setName", "name", true), accessor("getPower", "power", false)])
+        assert type.findGetter("name").name == "getName"
+        assert type.findSetter("name").name == "setName"
+        assert type.findSetter("power") == null
+        assert type.hasMethod("com.example.foes.Pokemon.getPower()")
+        assert !type.hasMethod("com.example.foes.Pokemon.setPower()")
+    }
+
+    private static Method accessor(String methodName, String propertyName, boolean setter) {
+        new Method("com.example.foes.Pokemon." + methodName + "()", methodName, null, "com.example.foes.Pokemon", [], null, false, false, false, true, false, false,
+                false, setter, !setter, false, false, false, false, false, propertyName, true, false, true)
+    }
+
     static Type typeFromCanonicalName(String canonicalName) {
         return new Type(ClassNameUtils.extractContainerType(canonicalName), ClassNameUtils.extractClassName(canonicalName), ClassNameUtils.extractPackageName(canonicalName),false, false,false, ClassNameUtils.isArray(canonicalName), ClassNameUtils.arrayDimensions(canonicalName), ClassNameUtils.isVarargs(canonicalName),null);
     }
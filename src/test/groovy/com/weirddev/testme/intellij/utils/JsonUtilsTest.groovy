@@ -0,0 +1,20 @@
+package com.weirddev.testme.intellij.utils
+
+import org.junit.Test
+
+class JsonUtilsTest {
+    @Test
+    void testQuoteEscapesQuotesAndBackslashes() {
+        assert JsonUtils.quote('say "hi" \\o/') == '"say \\"hi\\" \\\\o/"'
+    }
+
+    @Test
+    void testQuoteEscapesControlCharacters() {
+        assert JsonUtils.quote('a\nb\rc\td\u0000e\u001fg\u0020') == '"a\\nb\\rc\\td\\u0000e\\u001fg "'
+    }
+
+    @Test
+    void testQuoteNull() {
+        assert JsonUtils.quote(null) == 'null'
+    }
+}
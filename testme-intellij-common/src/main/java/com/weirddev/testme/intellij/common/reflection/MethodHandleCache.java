@@ -0,0 +1,97 @@
+package com.weirddev.testme.intellij.common.reflection;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Method handles and classes of optional plugins, looked up once and shared by all reflective calls.
+ * Failed lookups are cached as well, so unavailable apis of other plugin versions are searched once.
+ * To be cleared once plugins have been loaded or unloaded, so classes of unloaded plugins are not retained.
+ */
+public class MethodHandleCache {
+    private static final Logger LOG = Logger.getInstance(MethodHandleCache.class.getName());
+    private static final String DECLARED_NO_ARGS_METHOD = "declaredNoArgs";
+    private static final String PUBLIC_METHOD = "public";
+    private static final Map<List<Object>, Optional<MethodHandle>> methodHandles = new ConcurrentHashMap<>();
+    private static final Comparator<Method> DECLARED_NO_ARGS_METHOD_ORDER = Comparator.comparing(Method::isBridge)
+            .thenComparing(Method::getName)
+            .thenComparing(method -> method.getReturnType().getName());
+    private static final Map<List<Object>, Optional<Class<?>>> classes = new ConcurrentHashMap<>();
+
+    /**
+     * @return handle of a method declared by owner class, with no parameters, returning given type. null if not found.
+     * when several methods match, a method returning exactly the given type is preferred, then the first one by name
+     */
+    @Nullable
+    public static MethodHandle findDeclaredNoArgsMethod(@NotNull Class<?> ownerClass, @NotNull Class<?> returnClass, @Nullable String methodName) {
+        return methodHandles.computeIfAbsent(Arrays.asList(DECLARED_NO_ARGS_METHOD, ownerClass, returnClass, methodName), key -> {
+            final Method delegateMethod = Arrays.stream(ownerClass.getDeclaredMethods())
+                    .filter(method -> returnClass.isAssignableFrom(method.getReturnType()) && method.getParameterCount() == 0 && (methodName == null || methodName.equals(method.getName())))
+                    .min(Comparator.comparing((Method method) -> method.getReturnType() != returnClass).thenComparing(DECLARED_NO_ARGS_METHOD_ORDER))
+                    .orElse(null);
+            if (delegateMethod == null) {
+                LOG.warn("Method returning " + returnClass.getSimpleName() + " not found on type " + ownerClass.getSimpleName());
+                return Optional.empty();
+            }
+            delegateMethod.setAccessible(true);
+            return unreflect(delegateMethod);
+        }).orElse(null);
+    }
+
+    /**
+     * @return handle of a public method of owner class by name and parameter types. null if not found
+     */
+    @Nullable
+    public static MethodHandle findPublicMethod(@NotNull Class<?> ownerClass, @NotNull String methodName, Class<?>... parameterTypes) {
+        return methodHandles.computeIfAbsent(Arrays.asList(PUBLIC_METHOD, ownerClass, methodName, Arrays.asList(parameterTypes)), key -> {
+            try {
+                final Method method = ownerClass.getMethod(methodName, parameterTypes);
+                method.trySetAccessible();
+                return unreflect(method);
+            } catch (NoSuchMethodException e) {
+                LOG.info("method search failed:" + e.getMessage());
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * @return class by name, as loaded by given class loader. null if not found
+     */
+    @Nullable
+    public static Class<?> findClass(@NotNull String className, @NotNull ClassLoader classLoader) {
+        return classes.computeIfAbsent(Arrays.asList(classLoader, className), key -> {
+            try {
+                return Optional.of(Class.forName(className, true, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOG.info("class " + className + " not found by " + classLoader);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    public static void clear() {
+        methodHandles.clear();
+        classes.clear();
+    }
+
+    private static Optional<MethodHandle> unreflect(Method method) {
+        try {
+            return Optional.of(MethodHandles.lookup().unreflect(method));
+        } catch (IllegalAccessException e) {
+            LOG.warn("method " + method + " is not accessible", e);
+            return Optional.empty();
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.weirddev.testme.intellij.common.reflection;
 import com.intellij.openapi.diagnostic.Logger;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 
 /**
  * Date: 30/12/2017
@@ -15,29 +15,23 @@ public class MethodReflectionUtils {
     @Nullable
     public static <T> T getReturnTypeReflectively(Object object, Class ownerClass, Class<T> returnClass, @Nullable String  methodName,Object... params) {
         T returnInstance = null;
-        try {
-            Method delegateMethod = null;
-            for (Method method : ownerClass.getDeclaredMethods()) {
-                final Class<?>[] parameters = method.getParameterTypes();
-                if (method.getReturnType()!=null && returnClass.isAssignableFrom( method.getReturnType()) && (parameters == null || parameters.length == 0) && (methodName == null || methodName.equals(method.getName()))) {
-                    delegateMethod = method;
-                }
-            }
-            if (delegateMethod != null) {
-                delegateMethod.setAccessible(true);
-                final Object obj = delegateMethod.invoke(object,params);
+        final MethodHandle delegateMethod = MethodHandleCache.findDeclaredNoArgsMethod(ownerClass, returnClass, methodName);
+        if (delegateMethod != null) {
+            try {
+                final Object obj = delegateMethod.invoke(object);
                 if (obj != null && returnClass.isAssignableFrom(obj.getClass()) /*returnClass.isInstance(obj)*/) {
                     returnInstance = (T) obj;
                 }
+            } catch (Throwable e) {
+                LOG.error("Failed to invoke a method returning "+ returnClass.getSimpleName()+" on type "+ownerClass.getSimpleName(), e);
+            }
+            if (returnInstance == null) {
+                LOG.debug("Method returning "+ returnClass.getSimpleName()+" on type "+ownerClass.getSimpleName() + " returned null");
             }
-        } catch (Exception e) {
-            LOG.error("Failed to invoke a method returning "+ returnClass.getSimpleName()+" on type "+ownerClass.getSimpleName(), e);
-        }
-        if (returnInstance == null) {
-            LOG.warn("Method returning "+ returnClass.getSimpleName()+" not found on type "+ownerClass.getSimpleName());
         }
         return returnInstance;
     }
+
 //    @Nullable
 //    public static Object callConstructorReflectively(Class clazz, Object... args) {
 //        try {
@@ -61,18 +55,9 @@ public class MethodReflectionUtils {
     @Nullable
     public static  <T> T invokeMethodReflectivelyWithFallback(Object owner, Class<T> returnClass, String methodName, @Nullable String fallbackMethodName) {
         Object resultObj = null;
-        Method returnTypeMethod = null;
-        try {
-            returnTypeMethod = owner.getClass().getMethod(methodName);
-        } catch (NoSuchMethodException e) {
-            LOG.info("first method search failed:"+e.getMessage());
-            if (fallbackMethodName != null) {
-                try {
-                    returnTypeMethod = owner.getClass().getMethod(fallbackMethodName);
-                } catch (NoSuchMethodException e1) {
-                    LOG.warn("second method search failed:"+e.getMessage());
-                }
-            }
+        MethodHandle returnTypeMethod = MethodHandleCache.findPublicMethod(owner.getClass(), methodName);
+        if (returnTypeMethod == null && fallbackMethodName != null) {
+            returnTypeMethod = MethodHandleCache.findPublicMethod(owner.getClass(), fallbackMethodName);
         }
         Object returnObj = null;
 
@@ -4,6 +4,7 @@ import com.intellij.ide.plugins.PluginManager;
 import com.intellij.ide.plugins.PluginManagerCore;
 import com.intellij.lang.Language;
 import com.intellij.openapi.extensions.PluginId;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Date: 14/05/2017
@@ -15,6 +16,7 @@ public class LanguageUtils {
     public static final String SCALA_PLUGIN_ID = "org.intellij.scala";
     private static final String GROOVY_LANGUAGE_ID = "Groovy";
     private static final String SCALA_LANGUAGE_ID = "Scala";
+    private static volatile SupportedLanguages supportedLanguages;
 
     public static boolean isPluginEnabled(String pluginId){
         PluginId id = PluginId.getId(pluginId);
@@ -22,10 +24,12 @@ public class LanguageUtils {
     }
 
     public static boolean isGroovy(Language language) {
-        return language == Language.findLanguageByID(GROOVY_LANGUAGE_ID) && isPluginEnabled(GROOVY_PLUGIN_ID);
+        final Language groovyLanguage = getSupportedLanguages().groovy;
+        return groovyLanguage != null && language == groovyLanguage;
     }
     public static boolean isScala(Language language) {
-        return language == getScalaLang() && isPluginEnabled(SCALA_PLUGIN_ID);
+        final Language scalaLanguage = getSupportedLanguages().scala;
+        return scalaLanguage != null && language == scalaLanguage;
     }
 
     public static Language getScalaLang() {
@@ -35,4 +39,38 @@ public class LanguageUtils {
     public static boolean isScalaPluginObject(Object typeElement) {
         return typeElement.getClass().getName().startsWith("org.jetbrains.plugins.scala.");
     }
+
+    /**
+     * re-resolves languages of optional language plugins on next use. to be called once plugins have been loaded or unloaded
+     */
+    public static void refreshSupportedLanguages() {
+        supportedLanguages = null;
+    }
+
+    private static SupportedLanguages getSupportedLanguages() {
+        SupportedLanguages languages = supportedLanguages;
+        if (languages == null) {
+            languages = new SupportedLanguages(resolveLanguage(GROOVY_LANGUAGE_ID, GROOVY_PLUGIN_ID), resolveLanguage(SCALA_LANGUAGE_ID, SCALA_PLUGIN_ID));
+            supportedLanguages = languages;
+        }
+        return languages;
+    }
+
+    @Nullable
+    private static Language resolveLanguage(String languageId, String pluginId) {
+        return isPluginEnabled(pluginId) ? Language.findLanguageByID(languageId) : null;
+    }
+
+    /**
+     * languages of enabled optional language plugins, resolved once so language checks on hot paths are reduced to an identity comparison
+     */
+    private static class SupportedLanguages {
+        private final Language groovy;
+        private final Language scala;
+
+        private SupportedLanguages(@Nullable Language groovy, @Nullable Language scala) {
+            this.groovy = groovy;
+            this.scala = scala;
+        }
+    }
 }
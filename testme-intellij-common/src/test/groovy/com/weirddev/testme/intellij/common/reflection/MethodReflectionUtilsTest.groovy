@@ -0,0 +1,69 @@
+package com.weirddev.testme.intellij.common.reflection
+
+import org.junit.Test
+
+import java.lang.invoke.MethodHandle
+
+class MethodReflectionUtilsTest {
+
+    static class Wrapper {
+        private CharSequence delegate() {
+            return "delegated"
+        }
+
+        String name() {
+            return "wrapper"
+        }
+    }
+
+    static class Named {
+        String title() {
+            return "title"
+        }
+
+        String alias() {
+            return "alias"
+        }
+    }
+
+    @Test
+    void testGetReturnTypeReflectivelyInvokesPrivateMethod() {
+        assert MethodReflectionUtils.getReturnTypeReflectively(new Wrapper(), Wrapper.class, CharSequence.class, null) == "delegated"
+        assert MethodReflectionUtils.getReturnTypeReflectively(new Wrapper(), Wrapper.class, CharSequence.class, "delegate") == "delegated"
+    }
+
+    @Test
+    void testGetReturnTypeReflectivelyWhenNotFound() {
+        assert MethodReflectionUtils.getReturnTypeReflectively(new Wrapper(), Wrapper.class, Integer.class, null) == null
+        assert MethodReflectionUtils.getReturnTypeReflectively(new Wrapper(), Wrapper.class, Integer.class, null) == null
+    }
+
+    @Test
+    void testInvokeMethodReflectivelyWithFallback() {
+        assert MethodReflectionUtils.invokeMethodReflectivelyWithFallback(new Wrapper(), String.class, "name", null) == "wrapper"
+        assert MethodReflectionUtils.invokeMethodReflectivelyWithFallback(new Wrapper(), String.class, "missing", "name") == "wrapper"
+        assert MethodReflectionUtils.invokeMethodReflectivelyWithFallback(new Wrapper(), String.class, "missing", null) == null
+    }
+
+    @Test
+    void testFindDeclaredNoArgsMethodPrefersExactReturnTypeThenName() {
+        final MethodHandle wrapperMethod = MethodHandleCache.findDeclaredNoArgsMethod(Wrapper.class, CharSequence.class, null)
+        assert wrapperMethod.invokeWithArguments(new Wrapper()) == "delegated"
+        final MethodHandle namedMethod = MethodHandleCache.findDeclaredNoArgsMethod(Named.class, CharSequence.class, null)
+        assert namedMethod.invokeWithArguments(new Named()) == "alias"
+        assert MethodHandleCache.findDeclaredNoArgsMethod(Named.class, CharSequence.class, "title").invokeWithArguments(new Named()) == "title"
+    }
+
+    @Test
+    void testFindClassByClassLoader() {
+        final ClassLoader isolatedClassLoader = new URLClassLoader(new URL[0], (ClassLoader) null)
+        assert MethodHandleCache.findClass(Wrapper.class.getName(), getClass().getClassLoader()) == Wrapper.class
+        assert MethodHandleCache.findClass(Wrapper.class.getName(), isolatedClassLoader) == null
+    }
+
+    @Test
+    void testFindClassWhenNotFound() {
+        assert MethodHandleCache.findClass("com.example.Missing", getClass().getClassLoader()) == null
+        assert MethodHandleCache.findClass(String.class.getName(), getClass().getClassLoader()) == String.class
+    }
+}
@@ -2,6 +2,7 @@ package com.weirddev.testme.intellij.groovy.resolvers;
 
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.psi.PsiMethod;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.plugins.groovy.GroovyFileType;
 import org.jetbrains.plugins.groovy.lang.psi.util.GroovyPropertyUtils;
@@ -23,6 +24,14 @@ public class GroovyPropertyUtil
     public static boolean isPropertyGetter(@Nullable PsiMethod method) {
         return GroovyPropertyUtils.isSimplePropertyGetter(method);
     }
+    @Nullable
+    public static String getGetterPropertyName(@NotNull PsiMethod method) {
+        return GroovyPropertyUtils.getPropertyNameByGetter(method);
+    }
+    @Nullable
+    public static String getSetterPropertyName(@NotNull PsiMethod method) {
+        return GroovyPropertyUtils.getPropertyNameBySetter(method);
+    }
 
     public static FileType getGroovyFileType() {
         return GroovyFileType.GROOVY_FILE_TYPE;
@@ -109,4 +109,25 @@ public class GroovyPsiTreeUtils {
         return possibleFieldElement == null || !(possibleFieldElement instanceof PsiField) ? null : (PsiField)possibleFieldElement ;
     }
 
+    /**
+     * @return fields assigned with a parameter of the given method, by parameter. collected in a single pass over the assignments in the method
+     */
+    public static Map<PsiParameter, List<PsiField>> findFieldsAssignedFromParams(PsiMethod psiMethod) {
+        final Map<PsiParameter, List<PsiField>> assignedFields = new HashMap<>();
+        final List<PsiParameter> parameters = Arrays.asList(psiMethod.getParameterList().getParameters());
+        for (GrAssignmentExpression grAssignmentExpression : PsiTreeUtil.findChildrenOfType(psiMethod, GrAssignmentExpression.class)) {
+            PsiElement rValue = grAssignmentExpression.getRValue();
+            while (rValue instanceof GrParenthesizedExpression) {
+                rValue = ((GrParenthesizedExpression) rValue).getOperand();
+            }
+            if (rValue instanceof GrReferenceExpression && ((GrReferenceExpression) rValue).resolve() instanceof PsiParameter psiParameter && parameters.contains(psiParameter)) {
+                final PsiField psiField = resolveGrLeftHandExpressionAsField(rValue);
+                if (psiField != null) {
+                    assignedFields.computeIfAbsent(psiParameter, parameter -> new ArrayList<>()).add(psiField);
+                }
+            }
+        }
+        return assignedFields;
+    }
+
 }
@@ -7,6 +7,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.weirddev.testme.intellij.common.reflection.MethodHandleCache;
 import com.weirddev.testme.intellij.common.reflection.MethodReflectionUtils;
 import com.weirddev.testme.intellij.resolvers.to.MethodCallArg;
 import com.weirddev.testme.intellij.resolvers.to.ResolvedMethodCall;
@@ -46,7 +47,7 @@ import scala.collection.Seq;
 import scala.util.Either;
 import scala.util.Right;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -417,13 +418,16 @@ public class ScalaPsiTreeUtils {
     @Nullable
     private static ScType getTypingContextReturnValueReflectively(Typeable typeable) {
         try {
-            final Class<?> typingContextClass = Class.forName("org.jetbrains.plugins.scala.lang.psi.types.result.TypingContext");
+            final Class<?> typingContextClass = MethodHandleCache.findClass("org.jetbrains.plugins.scala.lang.psi.types.result.TypingContext", ScalaPsiTreeUtils.class.getClassLoader());
+            if (typingContextClass == null) {
+                return null;
+            }
             final Object typingContext = MethodReflectionUtils.getReturnTypeReflectively(typeable, Typeable.class, typingContextClass,null);
             if (typingContext != null) {
-                final Method getTypeMethod = typeable.getClass().getMethod("getType", typingContextClass);
-                final Object result = getTypeMethod.invoke(typeable, typingContext);
+                final MethodHandle getTypeMethod = MethodHandleCache.findPublicMethod(typeable.getClass(), "getType", typingContextClass);
+                final Object result = getTypeMethod == null ? null : getTypeMethod.invoke(typeable, typingContext);
                 if (result != null && result.getClass().getCanonicalName().equals("org.jetbrains.plugins.scala.lang.psi.types.result.Success")) {
-                    final Method getMethod = result.getClass().getMethod("get");
+                    final MethodHandle getMethod = MethodHandleCache.findPublicMethod(result.getClass(), "get");
                     if (getMethod != null) {
                         final Object type = getMethod.invoke(result);
                         if (type instanceof ScType) {
@@ -432,7 +436,7 @@ public class ScalaPsiTreeUtils {
                     }
                 }
             }
-        } catch (Exception e) {
+        } catch (Throwable e) {
             LOG.info("could not find Typeable.getType(TypingContext) method. this seams to be an up to date version of idea scala plugin", e);
         }
         return null;